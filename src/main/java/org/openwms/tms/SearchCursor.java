@@ -0,0 +1,118 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+import static java.lang.String.format;
+
+/**
+ * A SearchCursor is the position of a {@link TransportOrder} in the search order (priority descending, creation date ascending,
+ * primary key ascending). A search continues right after the position of the cursor (seek pagination), so the cost of fetching a
+ * page does not depend on the number of pages read before. Clients only see the cursor as an opaque token.
+ *
+ * @author Heiko Scherrer
+ */
+public final class SearchCursor {
+
+    private static final String SEPARATOR = "|";
+    private final int priority;
+    private final Object createDt;
+    private final long pk;
+
+    private SearchCursor(int priority, Object createDt, long pk) {
+        this.priority = priority;
+        this.createDt = createDt;
+        this.pk = pk;
+    }
+
+    /**
+     * Create a cursor that points to the given {@link TransportOrder}.
+     *
+     * @param transportOrder The last TransportOrder of a page
+     * @return The cursor
+     */
+    public static SearchCursor of(TransportOrder transportOrder) {
+        return new SearchCursor(transportOrder.getPriority().getOrder(), transportOrder.getCreateDt(), transportOrder.getPk());
+    }
+
+    /**
+     * Decode a cursor token that has been created with {@link #encode()} before.
+     *
+     * @param token The opaque cursor token
+     * @return The cursor
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    public static SearchCursor decode(String token) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+            return new SearchCursor(Integer.parseInt(parts[0]), decodeDate(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(format("The search cursor [%s] is not valid", token));
+        }
+    }
+
+    /**
+     * Encode this cursor into an opaque token.
+     *
+     * @return The token
+     */
+    public String encode() {
+        var raw = priority + SEPARATOR + encodeDate(createDt) + SEPARATOR + pk;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Get the creation date, in the same Java type as the persistent attribute.
+     *
+     * @return The creation date
+     */
+    public Object getCreateDt() {
+        return createDt;
+    }
+
+    public long getPk() {
+        return pk;
+    }
+
+    // Timestamps keep their nanoseconds, otherwise orders created in the same millisecond would be skipped or returned twice
+    private static String encodeDate(Object date) {
+        return switch (date) {
+            case Date d -> "T" + d.toInstant();
+            case LocalDateTime ldt -> "L" + ldt;
+            case Instant i -> "I" + i;
+            default -> throw new IllegalArgumentException(format("Type [%s] of creation date not supported", date.getClass()));
+        };
+    }
+
+    private static Object decodeDate(String value) {
+        return switch (value.charAt(0)) {
+            case 'T' -> Timestamp.from(Instant.parse(value.substring(1)));
+            case 'L' -> LocalDateTime.parse(value.substring(1));
+            case 'I' -> Instant.parse(value.substring(1));
+            default -> throw new IllegalArgumentException(format("Date format [%s] not supported", value));
+        };
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms;
+
+import org.openwms.tms.api.TransitionVO;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * A TransitionJournal is an append-only journal of all state transitions of {@link TransportOrder}s.
+ *
+ * @author Heiko Scherrer
+ */
+public interface TransitionJournal {
+
+    /**
+     * Record the transition of the {@code transportOrder}. The entry is written together with the current transaction.
+     *
+     * @param transportOrder The TransportOrder
+     * @param from The previous state
+     * @param to The new state
+     * @param cause Why the transition happened, if {@literal null} the problem of the TransportOrder is taken for transitions into a not
+     * active state
+     */
+    void record(TransportOrder transportOrder, TransportOrderState from, TransportOrderState to, String cause);
+
+    /**
+     * Stream all transitions that occurred in the given time range ordered by their occurrence.
+     *
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range
+     * @param consumer Called for each transition
+     */
+    void stream(LocalDateTime from, LocalDateTime to, Consumer<TransitionVO> consumer);
+}
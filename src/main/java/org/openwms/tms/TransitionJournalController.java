@@ -0,0 +1,66 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ameba.http.MeasuredRestController;
+import org.openwms.core.http.AbstractWebController;
+import org.openwms.tms.api.TMSApi;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * A TransitionJournalController streams the journaled state transitions of TransportOrders as newline delimited JSON.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.journal.enabled", havingValue = "true")
+@Profile("!INMEM")
+@MeasuredRestController
+class TransitionJournalController extends AbstractWebController {
+
+    private final TransitionJournal journal;
+    private final ObjectMapper objectMapper;
+
+    TransitionJournalController(TransitionJournal journal, ObjectMapper objectMapper) {
+        this.journal = journal;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(value = TMSApi.TRANSPORT_ORDERS + "/transitions", params = {"from", "to"}, produces = TMSApi.MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamTransitions(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        StreamingResponseBody body = out -> journal.stream(from, to, transition -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(transition));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok(body);
+    }
+}
@@ -20,9 +20,11 @@ import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import org.ameba.integration.jpa.ApplicationEntity;
@@ -39,7 +41,15 @@ import java.util.StringJoiner;
  * @author Heiko Scherrer
  */
 @Entity
-@Table(name = "TMS_TRANSPORT_ORDER")
+@Table(name = "TMS_TRANSPORT_ORDER", uniqueConstraints = {
+        @UniqueConstraint(name = "UC_TO_STARTED_TU", columnNames = "C_STARTED_TU_BK")
+}, indexes = {
+        @Index(name = "IDX_TO_TARGET_LOC_STATE", columnList = "C_TARGET_LOCATION, C_STATE"),
+        @Index(name = "IDX_TO_TARGET_LG_STATE", columnList = "C_TARGET_LOCATION_GROUP, C_STATE"),
+        @Index(name = "IDX_TO_STATE_END", columnList = "C_STATE, C_END_DATE"),
+        @Index(name = "IDX_TO_TU_STATE_PRIO", columnList = "C_TRANSPORT_UNIT_BK, C_STATE, C_PRIORITY_ORDER, C_CREATED"),
+        @Index(name = "IDX_TO_PRIO_CREATED", columnList = "C_PRIORITY_ORDER DESC, C_CREATED, C_PK")
+})
 public class TransportOrder extends ApplicationEntity implements Serializable {
 
     /**
@@ -50,6 +60,14 @@ public class TransportOrder extends ApplicationEntity implements Serializable {
     @Min(value = 1, groups = ValidationGroups.ValidateBKAndTarget.class)
     private String transportUnitBK;
 
+    /**
+     * The bk of the {@code TransportUnit} as long as this {@code TransportOrder} is {@link TransportOrderState#STARTED}, otherwise
+     * {@literal null}. A unique constraint on this column ensures that only one {@code TransportOrder} per {@code TransportUnit} is
+     * started at a time, even with several instances of the service.
+     */
+    @Column(name = "C_STARTED_TU_BK")
+    private String startedTransportUnitBK;
+
     /**
      * A priority level of the {@code TransportOrder}. The lower the value the lower the priority.<br> The priority level affects the
      * execution of the {@code TransportOrder}. An order with high priority will be processed faster than those with lower priority.
@@ -58,6 +76,12 @@ public class TransportOrder extends ApplicationEntity implements Serializable {
     @Enumerated(EnumType.STRING)
     private PriorityLevel priority = PriorityLevel.NORMAL;
 
+    /**
+     * The numeric order of the {@link #priority}, kept in sync with it to sort and index by priority in the database.
+     */
+    @Column(name = "C_PRIORITY_ORDER")
+    private Integer priorityOrder = PriorityLevel.NORMAL.getOrder();
+
     /**
      * Date when the {@code TransportOrder} was started.
      */
@@ -141,6 +165,7 @@ public class TransportOrder extends ApplicationEntity implements Serializable {
      */
     public void setPriority(PriorityLevel priority) {
         this.priority = priority;
+        this.priorityOrder = priority == null ? null : priority.getOrder();
     }
 
     /**
@@ -178,6 +203,9 @@ public class TransportOrder extends ApplicationEntity implements Serializable {
      */
     public void setTransportUnitBK(String transportUnitBK) {
         this.transportUnitBK = transportUnitBK;
+        if (state == TransportOrderState.STARTED) {
+            this.startedTransportUnitBK = transportUnitBK;
+        }
     }
 
     /**
@@ -220,6 +248,7 @@ public class TransportOrder extends ApplicationEntity implements Serializable {
     public TransportOrder changeState(StateManager stateManager, TransportOrderState newState) {
         stateManager.validate(newState, this);
         state = newState;
+        startedTransportUnitBK = state == TransportOrderState.STARTED ? transportUnitBK : null;
         return this;
     }
 
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A TransportOrderFilter holds the search criteria to find {@link TransportOrder}s. All criteria are optional and combined with
+ * logical AND. Time windows are inclusive on both ends.
+ *
+ * @author Heiko Scherrer
+ */
+public final class TransportOrderFilter {
+
+    private final Set<TransportOrderState> states;
+    private final String transportUnitBK;
+    private final String targetLocation;
+    private final String targetLocationGroup;
+    private final PriorityLevel priority;
+    private final Instant createdFrom;
+    private final Instant createdTo;
+    private final Instant startedFrom;
+    private final Instant startedTo;
+    private final Instant endedFrom;
+    private final Instant endedTo;
+
+    private TransportOrderFilter(Builder builder) {
+        states = builder.states;
+        transportUnitBK = builder.transportUnitBK;
+        targetLocation = builder.targetLocation;
+        targetLocationGroup = builder.targetLocationGroup;
+        priority = builder.priority;
+        createdFrom = builder.createdFrom;
+        createdTo = builder.createdTo;
+        startedFrom = builder.startedFrom;
+        startedTo = builder.startedTo;
+        endedFrom = builder.endedFrom;
+        endedTo = builder.endedTo;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public Set<TransportOrderState> getStates() {
+        return states;
+    }
+
+    public String getTransportUnitBK() {
+        return transportUnitBK;
+    }
+
+    public String getTargetLocation() {
+        return targetLocation;
+    }
+
+    public String getTargetLocationGroup() {
+        return targetLocationGroup;
+    }
+
+    public PriorityLevel getPriority() {
+        return priority;
+    }
+
+    public Instant getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public Instant getCreatedTo() {
+        return createdTo;
+    }
+
+    public Instant getStartedFrom() {
+        return startedFrom;
+    }
+
+    public Instant getStartedTo() {
+        return startedTo;
+    }
+
+    public Instant getEndedFrom() {
+        return endedFrom;
+    }
+
+    public Instant getEndedTo() {
+        return endedTo;
+    }
+
+    public static final class Builder {
+        private final Set<TransportOrderState> states = EnumSet.noneOf(TransportOrderState.class);
+        private String transportUnitBK;
+        private String targetLocation;
+        private String targetLocationGroup;
+        private PriorityLevel priority;
+        private Instant createdFrom;
+        private Instant createdTo;
+        private Instant startedFrom;
+        private Instant startedTo;
+        private Instant endedFrom;
+        private Instant endedTo;
+
+        private Builder() {
+        }
+
+        public Builder withStates(Collection<TransportOrderState> val) {
+            if (val != null) {
+                states.addAll(val);
+            }
+            return this;
+        }
+
+        public Builder withTransportUnitBK(String val) {
+            transportUnitBK = val;
+            return this;
+        }
+
+        public Builder withTargetLocation(String val) {
+            targetLocation = val;
+            return this;
+        }
+
+        public Builder withTargetLocationGroup(String val) {
+            targetLocationGroup = val;
+            return this;
+        }
+
+        public Builder withPriority(PriorityLevel val) {
+            priority = val;
+            return this;
+        }
+
+        public Builder createdBetween(Instant from, Instant to) {
+            createdFrom = from;
+            createdTo = to;
+            return this;
+        }
+
+        public Builder startedBetween(Instant from, Instant to) {
+            startedFrom = from;
+            startedTo = to;
+            return this;
+        }
+
+        public Builder endedBetween(Instant from, Instant to) {
+            endedFrom = from;
+            endedTo = to;
+            return this;
+        }
+
+        public TransportOrderFilter build() {
+            return new TransportOrderFilter(this);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.openwms.tms.api.TransportOrderVO;
+
+import java.util.List;
+
+/**
+ * A TransportOrderFinder is the read side to query {@link TransportOrder}s. Results are projected into value objects directly and are
+ * never attached to a persistence context.
+ *
+ * @author Heiko Scherrer
+ */
+public interface TransportOrderFinder {
+
+    /**
+     * Find all {@link TransportOrder}s for a {@code TransportUnit} in the given {@code states}.
+     *
+     * @param barcode The Barcode of the TransportUnit
+     * @param states A set of TransportOrder states
+     * @return A List of all TransportOrders, never {@literal null}
+     */
+    List<TransportOrderVO> findBy(String barcode, String... states);
+
+    /**
+     * Find and return the {@link TransportOrder} identified by the persisted key {@code pKey}.
+     *
+     * @param pKey The persisted key
+     * @return The TransportOrder
+     * @throws org.ameba.exception.NotFoundException if no TransportOrder was found
+     */
+    @NotNull TransportOrderVO findByPKey(@NotBlank String pKey);
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms;
+
+import org.openwms.tms.api.TransportOrderImportVO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * A TransportOrderImporter creates {@link TransportOrder}s in bulk from a stream of lines.
+ *
+ * @author Heiko Scherrer
+ */
+public interface TransportOrderImporter {
+
+    /**
+     * The supported formats of the imported stream.
+     */
+    enum Format {
+        /** One JSON object per line, structured like a {@code CreateTransportOrderVO}. */
+        NDJSON,
+        /** Comma separated values with a header line, supported columns are {@code barcode}, {@code target} and {@code priority}. */
+        CSV
+    }
+
+    /**
+     * Read all lines from the {@code reader} and create a TransportOrder for each valid line.
+     *
+     * @param reader Where to read from
+     * @param format The format of the lines
+     * @return The result with the number of imported TransportOrders and the rejected lines
+     * @throws IOException If reading fails
+     */
+    TransportOrderImportVO importFrom(BufferedReader reader, Format format) throws IOException;
+}
@@ -57,4 +57,13 @@ public enum TransportOrderState {
     public int getOrder() {
         return order;
     }
+
+    /**
+     * Check whether a {@code TransportOrder} in this state is still active, i.e. on the way to its target.
+     *
+     * @return {@literal true} for the states CREATED, INITIALIZED and STARTED
+     */
+    public boolean isActive() {
+        return this == CREATED || this == INITIALIZED || this == STARTED;
+    }
 }
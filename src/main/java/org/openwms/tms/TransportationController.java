@@ -22,13 +22,17 @@ import org.ameba.http.Response;
 import org.openwms.core.http.AbstractWebController;
 import org.openwms.tms.api.CreateTransportOrderVO;
 import org.openwms.tms.api.TMSApi;
+import org.openwms.tms.api.TransportOrderImportVO;
+import org.openwms.tms.api.TransportOrderPageVO;
 import org.openwms.tms.api.TransportOrderVO;
 import org.openwms.tms.api.UpdateTransportOrderVO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -36,9 +40,15 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -51,12 +61,16 @@ import java.util.List;
 class TransportationController extends AbstractWebController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransportationController.class);
+    private static final int MAX_PAGE_SIZE = 1000;
     private final TransportationService<TransportOrder> service;
     private final TransportationFacade transportationFacade;
+    private final TransportOrderImporter importer;
 
-    TransportationController(TransportationService<TransportOrder> service, TransportationFacade transportationFacade) {
+    TransportationController(TransportationService<TransportOrder> service, TransportationFacade transportationFacade,
+            TransportOrderImporter importer) {
         this.service = service;
         this.transportationFacade = transportationFacade;
+        this.importer = importer;
     }
 
     @GetMapping(value = TMSApi.TRANSPORT_ORDERS, params = {"barcode", "state"})
@@ -66,6 +80,44 @@ class TransportationController extends AbstractWebController {
         return transportationFacade.findBy(barcode, state);
     }
 
+    @GetMapping(TMSApi.TRANSPORT_ORDERS)
+    public TransportOrderPageVO search(
+            @RequestParam(value = "state", required = false) List<String> states,
+            @RequestParam(value = "barcode", required = false) String barcode,
+            @RequestParam(value = "targetLocation", required = false) String targetLocation,
+            @RequestParam(value = "targetLocationGroup", required = false) String targetLocationGroup,
+            @RequestParam(value = "priority", required = false) String priority,
+            @RequestParam(value = "createdFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @RequestParam(value = "createdTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @RequestParam(value = "startedFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startedFrom,
+            @RequestParam(value = "startedTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startedTo,
+            @RequestParam(value = "endedFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endedFrom,
+            @RequestParam(value = "endedTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endedTo,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false, defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("The limit must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+        var filter = TransportOrderFilter.newBuilder()
+                .withStates(states == null ? null : states.stream().map(TransportOrderState::valueOf).toList())
+                .withTransportUnitBK(barcode)
+                .withTargetLocation(targetLocation)
+                .withTargetLocationGroup(targetLocationGroup)
+                .withPriority(priority == null || priority.isEmpty() ? null : PriorityLevel.of(priority))
+                .createdBetween(createdFrom, createdTo)
+                .startedBetween(startedFrom, startedTo)
+                .endedBetween(endedFrom, endedTo)
+                .build();
+        return transportationFacade.search(filter, after, limit);
+    }
+
+    @GetMapping(value = TMSApi.TRANSPORT_ORDERS + "/count", params = {"target"})
+    public int getNoTransportOrdersToTarget(
+            @RequestParam("target") String target,
+            @RequestParam(value = "state", required = false) List<String> states) {
+        return transportationFacade.getNoTransportOrdersToTarget(target, states);
+    }
+
     @GetMapping(TMSApi.TRANSPORT_ORDERS + "/{pKey}")
     public TransportOrderVO findByPKey(@PathVariable(value = "pKey") String pKey) {
         return transportationFacade.findByPKey(pKey);
@@ -102,6 +154,18 @@ class TransportationController extends AbstractWebController {
         resp.addHeader(HttpHeaders.LOCATION, super.getLocationForCreatedResource(req, to.getPersistentKey()));
     }
 
+    @PostMapping(value = TMSApi.TRANSPORT_ORDERS + "/import", consumes = {TMSApi.MEDIA_TYPE_NDJSON, TMSApi.MEDIA_TYPE_CSV})
+    public TransportOrderImportVO importTOs(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest req) throws IOException {
+        var format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TMSApi.MEDIA_TYPE_CSV))
+                ? TransportOrderImporter.Format.CSV
+                : TransportOrderImporter.Format.NDJSON;
+        try (var reader = new BufferedReader(new InputStreamReader(req.getInputStream(), StandardCharsets.UTF_8))) {
+            return importer.importFrom(reader, format);
+        }
+    }
+
     @PatchMapping(TMSApi.TRANSPORT_ORDERS + "/{pKey}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void updateTO(
@@ -124,6 +188,16 @@ class TransportationController extends AbstractWebController {
         }
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    protected ResponseEntity<Response> handleIllegalArgumentException(IllegalArgumentException iae) {
+        return new ResponseEntity<>(Response.newBuilder()
+                .withMessage(iae.getMessage())
+                .withHttpStatus(String.valueOf(HttpStatus.BAD_REQUEST.value()))
+                .build(),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
     @ExceptionHandler(DeniedException.class)
     protected ResponseEntity<Response> handleDeniedException(DeniedException bae) {
         return new ResponseEntity<>(Response.newBuilder()
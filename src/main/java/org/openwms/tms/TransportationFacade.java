@@ -17,6 +17,7 @@ package org.openwms.tms;
 
 import org.ameba.annotation.Measured;
 import org.openwms.tms.api.TransportOrderApi;
+import org.openwms.tms.api.TransportOrderPageVO;
 import org.openwms.tms.api.TransportOrderVO;
 import org.openwms.tms.api.UpdateTransportOrderVO;
 import org.slf4j.Logger;
@@ -38,10 +39,12 @@ class TransportationFacade implements TransportOrderApi {
     private static final Logger LOGGER = LoggerFactory.getLogger(TransportationFacade.class);
     private final TransportOrderMapper mapper;
     private final TransportationService<TransportOrder> service;
+    private final TransportOrderFinder finder;
 
-    TransportationFacade(TransportOrderMapper mapper, TransportationService<TransportOrder> service) {
+    TransportationFacade(TransportOrderMapper mapper, TransportationService<TransportOrder> service, TransportOrderFinder finder) {
         this.mapper = mapper;
         this.service = service;
+        this.finder = finder;
     }
 
     /**
@@ -110,24 +113,56 @@ class TransportationFacade implements TransportOrderApi {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     @Measured
     public List<TransportOrderVO> findBy(String barcode, String state) {
-        var orders = mapper.convertToVO(service.findBy(barcode, state));
+        var orders = finder.findBy(barcode, state);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Found [{}] TransportOrders with barcode [{}] in state [{}]", orders.size(), barcode, state);
         }
         return orders;
     }
 
+    /**
+     * Search for TransportOrders and return one page of the result.
+     *
+     * @param filter The search criteria
+     * @param after The cursor token of the previous page, {@literal null} for the first page
+     * @param limit The page size
+     * @return The page, with a cursor token to the next page if more TransportOrders exist
+     */
+    @Transactional(readOnly = true)
+    @Measured
+    public TransportOrderPageVO search(TransportOrderFilter filter, String after, int limit) {
+        var orders = service.search(filter, after == null || after.isEmpty() ? null : SearchCursor.decode(after), limit + 1);
+        String next = null;
+        if (orders.size() > limit) {
+            orders = orders.subList(0, limit);
+            next = SearchCursor.of(orders.getLast()).encode();
+        }
+        return new TransportOrderPageVO(mapper.convertToVO(orders), next);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Measured
+    public int getNoTransportOrdersToTarget(String target, List<String> states) {
+        return service.getNoTransportOrdersToTarget(target, states == null ? new String[0] : states.toArray(String[]::new));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     @Measured
     public TransportOrderVO findByPKey(String pKey) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Find TransportOrder with persistent key [{}]", pKey);
         }
-        return mapper.convertToVO(service.findByPKey(pKey));
+        return finder.findByPKey(pKey);
     }
 }
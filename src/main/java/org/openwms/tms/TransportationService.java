@@ -48,11 +48,23 @@ public interface TransportationService<T extends TransportOrder> {
      */
     @NotNull T findByPKey(@NotBlank String pKey);
 
+    /**
+     * Search for {@link TransportOrder}s that match the {@code filter}. The result is ordered by priority (highest first), creation
+     * date and primary key and continues right after the position of the {@code after} cursor.
+     *
+     * @param filter The search criteria
+     * @param after The cursor to continue after, {@literal null} to start with the first page
+     * @param limit The maximum number of TransportOrders to return
+     * @return A List of all TransportOrders, never {@literal null}
+     */
+    List<T> search(TransportOrderFilter filter, SearchCursor after, int limit);
+
     /**
      * Returns the number of {@link TransportOrder}s that have the {@code target} as target and are in one of the {@code states}.
      *
      * @param target The target place to search TransportOrders for
-     * @param states An array of TransportOrder states to filter TransportOrders for
+     * @param states An array of TransportOrder states to filter TransportOrders for, if none is given all active TransportOrders are
+     * counted
      * @return Number of all TransportOrders in one of the {@code states} that are on the way to the {@code target}
      */
     int getNoTransportOrdersToTarget(String target, String... states);
@@ -95,4 +107,16 @@ public interface TransportationService<T extends TransportOrder> {
      * @return A list of Messages according to the {@link TransportOrder}s that have not been changed
      */
     Collection<Message> change(String barcode, TransportOrderState currentState, TransportOrderState targetState, Message message);
-}
\ No newline at end of file
+
+    /**
+     * Request a state change for all {@link TransportOrder}s for the {@code TransportUnit} with the given {@code barcode} that are in
+     * one of the {@code currentStates}.
+     *
+     * @param barcode The ID of the {@code TransportUnit} to move
+     * @param currentStates The states of TransportOrders to change
+     * @param targetState The state to change all orders to
+     * @param message A messages attached to the changed TransportOrder, may be {@literal null}
+     * @return A list of Messages according to the {@link TransportOrder}s that have not been changed
+     */
+    Collection<Message> change(String barcode, Collection<TransportOrderState> currentStates, TransportOrderState targetState, Message message);
+}
@@ -28,6 +28,12 @@ public final class TMSApi {
     /** API root to hit TransportOrders (plural). */
     public static final String TRANSPORT_ORDERS = "/" + API_VERSION + "/transport-orders";
 
+    /** Media type of a newline delimited JSON stream, one JSON object per line. */
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
+    /** Media type of a CSV stream with a header line. */
+    public static final String MEDIA_TYPE_CSV = "text/csv";
+
     private TMSApi() {
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A TransitionVO is one journaled state transition of a TransportOrder.
+ *
+ * @author Heiko Scherrer
+ */
+public class TransitionVO implements Serializable {
+
+    @JsonProperty
+    private String persistentKey;
+    @JsonProperty
+    private String from;
+    @JsonProperty
+    private String to;
+    @JsonProperty
+    private LocalDateTime occurred;
+    @JsonProperty
+    private String node;
+    @JsonProperty
+    private String cause;
+
+    @JsonCreator
+    public TransitionVO() {}
+
+    public TransitionVO(String persistentKey, String from, String to, LocalDateTime occurred, String node, String cause) {
+        this.persistentKey = persistentKey;
+        this.from = from;
+        this.to = to;
+        this.occurred = occurred;
+        this.node = node;
+        this.cause = cause;
+    }
+
+    public String getPersistentKey() {
+        return persistentKey;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public LocalDateTime getOccurred() {
+        return occurred;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public String getCause() {
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return "TransitionVO{" + "persistentKey='" + persistentKey + '\'' + ", from='" + from + '\'' + ", to='" + to + '\'' + ", occurred=" + occurred + '}';
+    }
+}
@@ -61,6 +61,19 @@ public interface TransportOrderApi {
             @PathVariable(value = "pKey") String pKey
     );
 
+    /**
+     * Get the number of {@code TransportOrder}s that are on the way to the given {@code target}.
+     *
+     * @param target Either a Location of a LocationGroup
+     * @param states The TransportOrder states to consider, if not given all active TransportOrders are counted
+     * @return The number of TransportOrders
+     */
+    @GetMapping(value = TMSApi.TRANSPORT_ORDERS + "/count", params = {"target"})
+    int getNoTransportOrdersToTarget(
+            @RequestParam(value = "target") String target,
+            @RequestParam(value = "state", required = false) List<String> states
+    );
+
     /**
      * Create a {@code TransportOrder} for a {@code TransportUnit} identified by the given
      * {@code barcode} to the given {@code target}.
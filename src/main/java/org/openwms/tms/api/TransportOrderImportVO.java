@@ -0,0 +1,103 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A TransportOrderImportVO is the result of a bulk import of TransportOrders. Only the first failures are listed, the total number of
+ * failed lines is always given.
+ *
+ * @author Heiko Scherrer
+ */
+public class TransportOrderImportVO implements Serializable {
+
+    @JsonProperty
+    private long imported;
+    @JsonProperty
+    private long failed;
+    @JsonProperty
+    private double rowsPerSecond;
+    @JsonProperty
+    private List<Failure> failures;
+
+    @JsonCreator
+    public TransportOrderImportVO() {}
+
+    public TransportOrderImportVO(long imported, long failed, double rowsPerSecond, List<Failure> failures) {
+        this.imported = imported;
+        this.failed = failed;
+        this.rowsPerSecond = rowsPerSecond;
+        this.failures = failures;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return "TransportOrderImportVO{" + "imported=" + imported + ", failed=" + failed + ", rowsPerSecond=" + rowsPerSecond + '}';
+    }
+
+    /**
+     * A Failure describes why one line of the imported file has been rejected.
+     */
+    public static class Failure implements Serializable {
+
+        @JsonProperty
+        private long line;
+        @JsonProperty
+        private String message;
+
+        @JsonCreator
+        public Failure() {}
+
+        public Failure(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Failure{" + "line=" + line + ", message='" + message + '\'' + '}';
+        }
+    }
+}
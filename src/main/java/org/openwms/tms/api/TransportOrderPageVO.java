@@ -0,0 +1,59 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A TransportOrderPageVO is one page of a TransportOrder search. The {@code next} cursor is passed as {@code after} parameter to
+ * request the following page and is not set on the last page.
+ *
+ * @author Heiko Scherrer
+ */
+public class TransportOrderPageVO implements Serializable {
+
+    @JsonProperty
+    private List<TransportOrderVO> content;
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
+
+    @JsonCreator
+    public TransportOrderPageVO() {}
+
+    public TransportOrderPageVO(List<TransportOrderVO> content, String next) {
+        this.content = content;
+        this.next = next;
+    }
+
+    public List<TransportOrderVO> getContent() {
+        return content;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    @Override
+    public String toString() {
+        return "TransportOrderPageVO{" + "content=" + content + ", next='" + next + '\'' + '}';
+    }
+}
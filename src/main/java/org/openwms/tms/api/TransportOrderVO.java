@@ -49,6 +49,20 @@ public class TransportOrderVO implements Serializable {
     @JsonCreator
     public TransportOrderVO() {}
 
+    /**
+     * All fields, used for query projections.
+     */
+    public TransportOrderVO(String id, String transportUnitId, String state, String priority, String sourceLocation, String targetLocation,
+            String targetLocationGroup) {
+        this.id = id;
+        this.transportUnitId = transportUnitId;
+        this.state = state;
+        this.priority = priority;
+        this.sourceLocation = sourceLocation;
+        this.targetLocation = targetLocation;
+        this.targetLocationGroup = targetLocationGroup;
+    }
+
     public String getId() {
         return id;
     }
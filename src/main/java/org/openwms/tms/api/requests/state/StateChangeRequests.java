@@ -0,0 +1,44 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.api.requests.state;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A StateChangeRequests bundles several {@link StateChangeRequest}s into one message.
+ *
+ * @author Heiko Scherrer
+ */
+public final class StateChangeRequests implements Serializable {
+
+    /** The single requests. */
+    private List<StateChangeRequest> requests;
+
+    @ConstructorProperties({"requests"})
+    public StateChangeRequests(List<StateChangeRequest> requests) {
+        this.requests = requests;
+    }
+
+    public List<StateChangeRequest> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<StateChangeRequest> requests) {
+        this.requests = requests;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.api.requests.state;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A StateChangeResponses bundles the {@link StateChangeResponse}s to a former {@link StateChangeRequests} into one message.
+ *
+ * @author Heiko Scherrer
+ */
+public final class StateChangeResponses implements Serializable {
+
+    /** The single responses, each one refers to its request. */
+    private List<StateChangeResponse> responses;
+
+    @ConstructorProperties({"responses"})
+    public StateChangeResponses(List<StateChangeResponse> responses) {
+        this.responses = responses;
+    }
+
+    public List<StateChangeResponse> getResponses() {
+        return responses;
+    }
+
+    public void setResponses(List<StateChangeResponse> responses) {
+        this.responses = responses;
+    }
+}
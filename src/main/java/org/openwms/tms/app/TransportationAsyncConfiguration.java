@@ -19,9 +19,11 @@ import org.ameba.amqp.RabbitTemplateConfigurable;
 import org.openwms.core.SpringProfiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
@@ -156,4 +158,31 @@ class TransportationAsyncConfiguration {
                 .to(tmsRequestsExchange)
                 .with(routingKey);
     }
+    @Bean Queue tmsBatchRequestsQueue(@Value("${owms.requests.tms.to.batch-queue-name}") String queueName,
+            @Value("${owms.transportation.dead-letter.exchange-name}") String exchangeName) {
+        return QueueBuilder.durable(queueName)
+                .withArgument("x-dead-letter-exchange", exchangeName)
+                .withArgument("x-dead-letter-routing-key", "poison-message")
+                .build();
+    }
+    @Bean Binding tmsBatchRequestsBinding(TopicExchange tmsRequestsExchange, Queue tmsBatchRequestsQueue,
+            @Value("${owms.requests.tms.to.batch-routing-key}") String routingKey) {
+        return BindingBuilder
+                .bind(tmsBatchRequestsQueue)
+                .to(tmsRequestsExchange)
+                .with(routingKey);
+    }
+
+    /* Cache invalidations between all TMS instances */
+    @Bean FanoutExchange tmsCacheExchange(@Value("${owms.tms.cache.exchange-name}") String exchangeName) {
+        return new FanoutExchange(exchangeName, true, false);
+    }
+    @Bean Queue tmsCacheQueue() {
+        return new AnonymousQueue();
+    }
+    @Bean Binding tmsCacheBinding(FanoutExchange tmsCacheExchange, Queue tmsCacheQueue) {
+        return BindingBuilder
+                .bind(tmsCacheQueue)
+                .to(tmsCacheExchange);
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.app;
+
+import org.openwms.tms.impl.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * A TransportationDataSourceConfiguration is only active when a read replica is configured with {@code owms.tms.datasource.replica.url}.
+ * Query-only service methods are then routed to the replica, everything else uses the primary database configured with
+ * {@code spring.datasource}.
+ *
+ * @author Heiko Scherrer
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "owms.tms.datasource.replica", name = "url")
+class TransportationDataSourceConfiguration {
+
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties primaryProperties,
+            @Value("${owms.tms.datasource.replica.url}") String url,
+            @Value("${owms.tms.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${owms.tms.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${owms.tms.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${owms.tms.datasource.replica.max-lag:PT5S}") Duration maxLag) {
+        var replica = DataSourceBuilder.create()
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        var routing = new ReplicaRoutingDataSource(primaryProperties.initializeDataSourceBuilder().build(), replica, lagQuery, maxLag);
+        routing.checkReplica();
+        return routing;
+    }
+
+    @Primary
+    @Bean
+    DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Defer fetching the physical connection until the transaction has been started, so the read-only flag is known
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -39,6 +39,7 @@ import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.core.Ordered;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
@@ -58,6 +59,7 @@ import java.util.Locale;
 @EnableJpaRepositories(basePackageClasses = TransportOrderRepository.class)
 @EnableAspects(propagateRootCause = true)
 @EnableMultiTenancy
+@EnableScheduling
 @Import(JSONConfiguration.class)
 class TransportationModuleConfiguration {
 
@@ -73,8 +73,7 @@ class TransportOrderCommandHandler {
             case CANCEL_ALL -> {
                 var vo = command.getUpdateTransportOrder();
                 var msg = mapper.convertToEO(vo.getProblem());
-                service.change(vo.getBarcode(), TransportOrderState.INITIALIZED, TransportOrderState.CANCELED, msg);
-                service.change(vo.getBarcode(), TransportOrderState.STARTED, TransportOrderState.CANCELED, msg);
+                service.change(vo.getBarcode(), List.of(TransportOrderState.INITIALIZED, TransportOrderState.STARTED), TransportOrderState.CANCELED, msg);
             }
             default -> throw new ServiceLayerException(format("Operation [%s] of TOCommand not supported", command.getType()));
         }
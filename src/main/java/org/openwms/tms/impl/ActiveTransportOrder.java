@@ -0,0 +1,30 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.openwms.tms.TransportOrderState;
+
+/**
+ * An ActiveTransportOrder is a lightweight read-only projection of a {@code TransportOrder} with its targets and the current state.
+ *
+ * @param pKey The persistent key of the TransportOrder
+ * @param targetLocation The target Location, may be {@literal null}
+ * @param targetLocationGroup The target LocationGroup, may be {@literal null}
+ * @param state The current state of the TransportOrder
+ * @author Heiko Scherrer
+ */
+public record ActiveTransportOrder(String pKey, String targetLocation, String targetLocationGroup, TransportOrderState state) {
+}
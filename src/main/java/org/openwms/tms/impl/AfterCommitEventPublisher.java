@@ -0,0 +1,81 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+
+/**
+ * An AfterCommitEventPublisher publishes {@link ApplicationEvent}s after the current transaction has been committed. Each event is
+ * processed in a new transaction, because listeners that are invoked after commit must not join the already completed one. A
+ * failing listener is logged and does not affect the processing of the remaining events.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+public class AfterCommitEventPublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AfterCommitEventPublisher.class);
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate requiresNew;
+
+    AfterCommitEventPublisher(ApplicationEventPublisher publisher, PlatformTransactionManager transactionManager) {
+        this.publisher = publisher;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Publish the {@code events} after the current transaction has been committed, or immediately if no transaction is active.
+     *
+     * @param events The events to publish
+     */
+    public void publishAfterCommit(Collection<? extends ApplicationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(events);
+                }
+            });
+        } else {
+            publish(events);
+        }
+    }
+
+    private void publish(Collection<? extends ApplicationEvent> events) {
+        for (var event : events) {
+            try {
+                requiresNew.executeWithoutResult(status -> publisher.publishEvent(event));
+            } catch (RuntimeException e) {
+                LOGGER.error("Processing the event [{}] after commit failed with [{}]", event, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.ameba.annotation.Measured;
+import org.openwms.core.SpringProfiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * An AmqpTransportOrderCacheBroadcaster sends {@link TransportOrderCacheInvalidation}s to a fanout exchange, each instance of the
+ * service receives them on its own exclusive queue.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@Component
+class AmqpTransportOrderCacheBroadcaster implements TransportOrderCacheBroadcaster {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AmqpTransportOrderCacheBroadcaster.class);
+    private final AmqpTemplate amqpTemplate;
+    private final String exchangeName;
+    private final ApplicationEventPublisher publisher;
+
+    AmqpTransportOrderCacheBroadcaster(AmqpTemplate amqpTemplate, @Value("${owms.tms.cache.exchange-name}") String exchangeName,
+            ApplicationEventPublisher publisher) {
+        this.amqpTemplate = amqpTemplate;
+        this.exchangeName = exchangeName;
+        this.publisher = publisher;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void broadcast(TransportOrderCacheInvalidation invalidation) {
+        amqpTemplate.convertAndSend(exchangeName, "", invalidation);
+    }
+
+    @Measured
+    @RabbitListener(queues = "#{tmsCacheQueue.name}")
+    public void onInvalidation(@Payload TransportOrderCacheInvalidation invalidation) {
+        LOGGER.debug("Received cache invalidation for TransportOrder [{}]", invalidation.pKey());
+        publisher.publishEvent(invalidation);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.openwms.tms.Message;
+import org.openwms.tms.TransitionJournal;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.openwms.tms.TransportOrderState.CANCELED;
+import static org.openwms.tms.TransportOrderState.FINISHED;
+import static org.openwms.tms.TransportOrderState.INITIALIZED;
+import static org.openwms.tms.TransportOrderState.INTERRUPTED;
+import static org.openwms.tms.TransportOrderState.ONFAILURE;
+import static org.openwms.tms.TransportOrderState.STARTED;
+
+/**
+ * A BulkTransitions engine changes the state of many {@link TransportOrder}s with set-based UPDATE statements instead of validating and
+ * flushing each order one by one. Only transitions that do not depend on any data of the single order are applied in bulk, the
+ * allowed source states are checked upfront in the UPDATE statement itself. Orders that are already managed in the current persistence
+ * context are refreshed after the UPDATE, so that callers keep working on attached and up-to-date instances. A
+ * {@link TransportServiceEvent} is published for each changed order after the transaction has been committed, so that listeners never
+ * see a change that is rolled back afterwards.
+ *
+ * @author Heiko Scherrer
+ */
+@TxService(propagation = Propagation.MANDATORY)
+class BulkTransitions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkTransitions.class);
+    /** Target state as key, the source states that can be turned into the target state without further checks as value. */
+    private static final Map<TransportOrderState, Set<TransportOrderState>> SOURCES = new EnumMap<>(TransportOrderState.class);
+    static {
+        SOURCES.put(INTERRUPTED, Collections.unmodifiableSet(EnumSet.of(STARTED)));
+        SOURCES.put(ONFAILURE, Collections.unmodifiableSet(EnumSet.of(INITIALIZED, STARTED)));
+        SOURCES.put(CANCELED, Collections.unmodifiableSet(EnumSet.of(INITIALIZED, STARTED)));
+        SOURCES.put(FINISHED, Collections.unmodifiableSet(EnumSet.of(STARTED)));
+    }
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+    private final AfterCommitEventPublisher eventPublisher;
+    private final TransitionJournal journal;
+    @PersistenceContext
+    private EntityManager em;
+
+    BulkTransitions(TransportOrderRepository<TransportOrder, Long> repository, AfterCommitEventPublisher eventPublisher,
+            @Autowired(required = false) TransitionJournal journal) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.journal = journal;
+    }
+
+    /**
+     * Get the source states that can be turned into the {@code targetState} in bulk.
+     *
+     * @param targetState The requested state
+     * @return The source states, an empty set if the targetState is not supported
+     */
+    Set<TransportOrderState> sourcesOf(TransportOrderState targetState) {
+        return SOURCES.getOrDefault(targetState, Collections.emptySet());
+    }
+
+    /**
+     * Turn all {@link TransportOrder}s with the given {@code transportOrderPks} that are in one of the supported source states into
+     * the {@code targetState}.
+     *
+     * @param transportOrderPks The primary keys of the orders to change
+     * @param targetState The requested state
+     * @param message An optional problem to attach to the changed orders
+     * @return The TransportOrders that have been turned into the {@code targetState} by this call, orders that have already been in
+     * that state or that are in any other state are not returned
+     */
+    @Measured
+    List<TransportOrder> change(Collection<Long> transportOrderPks, TransportOrderState targetState, Message message) {
+        var sources = sourcesOf(targetState);
+        if (transportOrderPks.isEmpty() || sources.isEmpty()) {
+            return List.of();
+        }
+        var endDate = targetState == INTERRUPTED ? null : new Date();
+        // Loaded upfront to know the previous state of each order and to keep the instances attached, the UPDATE bypasses them
+        var transportOrders = repository.findByPks(transportOrderPks);
+        var previous = new HashMap<Long, TransportOrderState>(transportOrders.size());
+        transportOrders.forEach(to -> previous.put(to.getPk(), to.getState()));
+        var rows = repository.changeState(transportOrderPks, sources, targetState, endDate);
+        if (message != null) {
+            repository.setProblem(transportOrderPks, targetState, message.getOccurred(), message.getMessageNo(), message.getMessageText(), message.getpKey());
+        }
+        var changed = new ArrayList<TransportOrder>(rows);
+        for (var transportOrder : transportOrders) {
+            if (sources.contains(transportOrder.getState())) {
+                em.refresh(transportOrder);
+                if (transportOrder.getState() == targetState) {
+                    changed.add(transportOrder);
+                }
+            }
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Turned [{}] of [{}] TransportOrders into state [{}]", rows, transportOrderPks.size(), targetState);
+        }
+        if (journal != null) {
+            changed.forEach(to -> journal.record(to, previous.get(to.getPk()), targetState, message == null ? null : message.getMessageText()));
+        }
+        eventPublisher.publishAfterCommit(changed.stream()
+                .map(to -> new TransportServiceEvent(to, TransportServiceEvent.TYPE.of(targetState)))
+                .toList());
+        return changed;
+    }
+}
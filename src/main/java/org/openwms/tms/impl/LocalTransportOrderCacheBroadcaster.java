@@ -0,0 +1,45 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.openwms.core.SpringProfiles;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * A LocalTransportOrderCacheBroadcaster is the in-process stand-in for a broker, used when the service runs without AMQP.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.NOT_ASYNCHRONOUS)
+@Component
+class LocalTransportOrderCacheBroadcaster implements TransportOrderCacheBroadcaster {
+
+    private final ApplicationEventPublisher publisher;
+
+    LocalTransportOrderCacheBroadcaster(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void broadcast(TransportOrderCacheInvalidation invalidation) {
+        publisher.publishEvent(invalidation);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.ameba.annotation.TxService;
+import org.openwms.tms.PriorityLevel;
+import org.openwms.tms.TransportOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+/**
+ * A PriorityOrderMigrator sets the numeric priority order of {@link TransportOrder}s that have been persisted before the order was
+ * stored, or whose order does not match their {@link PriorityLevel} anymore.
+ *
+ * @author Heiko Scherrer
+ */
+@TxService
+class PriorityOrderMigrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PriorityOrderMigrator.class);
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+
+    PriorityOrderMigrator(TransportOrderRepository<TransportOrder, Long> repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        var migrated = 0;
+        for (var level : PriorityLevel.values()) {
+            migrated += repository.backfillPriorityOrder(level, level.getOrder());
+        }
+        if (migrated > 0) {
+            LOGGER.info("Set the priority order of [{}] TransportOrders", migrated);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.openwms.tms.PriorityLevel;
+
+import java.util.Comparator;
+
+/**
+ * A QueuedTransportOrder is a lightweight read-only projection of an INITIALIZED {@code TransportOrder} waiting to be started. The
+ * creation date is kept with the type of the entity attribute.
+ *
+ * @param pk The primary key of the TransportOrder
+ * @param pKey The persistent key of the TransportOrder
+ * @param transportUnitBK The business key of the TransportUnit to move
+ * @param priority The priority of the TransportOrder
+ * @param createDt The creation date of the TransportOrder
+ * @author Heiko Scherrer
+ */
+public record QueuedTransportOrder(Long pk, String pKey, String transportUnitBK, PriorityLevel priority, Comparable<?> createDt) {
+
+    /** The order to start: highest priority first, then the oldest one and finally the lowest primary key, like the database does. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static final Comparator<QueuedTransportOrder> START_ORDER = Comparator
+            .comparingInt((QueuedTransportOrder q) -> q.priority().getOrder()).reversed()
+            .thenComparing(q -> (Comparable) q.createDt(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(QueuedTransportOrder::pk, Comparator.nullsLast(Comparator.naturalOrder()));
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * A ReplicaReadAspect flags the execution of methods marked with {@link ReplicaRead}, so that the {@link ReplicaRoutingDataSource} may
+ * route their queries to the read replica.
+ *
+ * @author Heiko Scherrer
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+@ConditionalOnProperty(prefix = "owms.tms.datasource.replica", name = "url")
+class ReplicaReadAspect {
+
+    @Around("@annotation(org.openwms.tms.impl.ReplicaRead)")
+    public Object routeToReplica(ProceedingJoinPoint pjp) throws Throwable {
+        ReplicaRoutingDataSource.enterReplicaRead();
+        try {
+            return pjp.proceed();
+        } finally {
+            ReplicaRoutingDataSource.exitReplicaRead();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * A ReplicaRoutingDataSource routes the connections of query-only service methods, marked with {@link ReplicaRead}, to a read replica of
+ * the database. All other connections, and all connections of read-write transactions, are taken from the primary database.
+ * <p>
+ * The replica is only used as long as it is reachable and its replication lag is below the configured threshold. The lag is measured
+ * periodically with a configurable query that returns the lag in seconds. If the replica is stale or fails to hand out a connection,
+ * queries fall back to the primary until the next successful check. Connections must be acquired lazily, after the transaction has been
+ * started, so this DataSource is meant to be wrapped into a {@code LazyConnectionDataSourceProxy}.
+ *
+ * @author Heiko Scherrer
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final ThreadLocal<Integer> REPLICA_READS = ThreadLocal.withInitial(() -> 0);
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private volatile boolean replicaUsable = true;
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    /**
+     * Create a routing DataSource.
+     *
+     * @param primary The primary database, used for all writes and as fallback
+     * @param replica The read replica
+     * @param lagQuery An optional query that returns the replication lag in seconds, if {@literal null} only the reachability is checked
+     * @param maxLag The maximum tolerated replication lag
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery, Duration maxLag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        super.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        super.setDefaultTargetDataSource(primary);
+    }
+
+    static void enterReplicaRead() {
+        REPLICA_READS.set(REPLICA_READS.get() + 1);
+    }
+
+    static void exitReplicaRead() {
+        var depth = REPLICA_READS.get() - 1;
+        if (depth <= 0) {
+            REPLICA_READS.remove();
+        } else {
+            REPLICA_READS.set(depth);
+        }
+    }
+
+    boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Route to the replica only within a method marked with {@link ReplicaRead} and when no read-write transaction is active.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaUsable
+                && REPLICA_READS.get() > 0
+                && (!TransactionSynchronizationManager.isActualTransactionActive() || TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Falls back to the primary if the replica cannot hand out a connection.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Route.REPLICA) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markUnusable("Replica is not reachable: " + e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Falls back to the primary if the replica cannot hand out a connection.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (determineCurrentLookupKey() == Route.REPLICA) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                markUnusable("Replica is not reachable: " + e.getMessage());
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Check whether the replica is reachable and not lagging behind more than tolerated, and enable or disable the routing accordingly.
+     */
+    @Scheduled(initialDelayString = "${owms.tms.datasource.replica.check-interval:PT5S}", fixedDelayString = "${owms.tms.datasource.replica.check-interval:PT5S}")
+    public void checkReplica() {
+        try (var con = replica.getConnection()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                markUsable();
+                return;
+            }
+            try (var stmt = con.createStatement(); var rs = stmt.executeQuery(lagQuery)) {
+                var lag = rs.next() ? Duration.ofMillis(Math.round(rs.getDouble(1) * 1000)) : Duration.ZERO;
+                if (lag.compareTo(maxLag) > 0) {
+                    markUnusable("Replication lag of [%s] exceeds [%s]".formatted(lag, maxLag));
+                } else {
+                    markUsable();
+                }
+            }
+        } catch (SQLException e) {
+            markUnusable("Replica is not reachable: " + e.getMessage());
+        }
+    }
+
+    private void markUsable() {
+        if (!replicaUsable) {
+            LOGGER.info("Read replica is usable again, query-only methods are routed to the replica");
+        }
+        replicaUsable = true;
+    }
+
+    private void markUnusable(String reason) {
+        if (replicaUsable) {
+            LOGGER.warn("{}, query-only methods fall back to the primary database", reason);
+        }
+        replicaUsable = false;
+    }
+}
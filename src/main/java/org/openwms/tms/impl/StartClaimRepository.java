@@ -0,0 +1,35 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.openwms.tms.TransportOrder;
+
+/**
+ * A StartClaimRepository is a Spring Data repository fragment to claim the start of a {@link TransportOrder} for its TransportUnit.
+ *
+ * @author Heiko Scherrer
+ */
+interface StartClaimRepository {
+
+    /**
+     * Claim the start of the {@link TransportOrder} with the given {@code pk}. The claim fails if another TransportOrder for the same
+     * TransportUnit is already claimed, even concurrently. A failed claim does not affect the caller's transaction.
+     *
+     * @param pk The primary key of the TransportOrder
+     * @return 1 if the TransportOrder has been claimed, otherwise 0
+     */
+    int claimStart(Long pk);
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * A StartClaimRepositoryImpl claims starts with plain JDBC on the connection of the current transaction. The claim is executed within
+ * a savepoint and a violation of the unique constraint on the started TransportUnit is rolled back to that savepoint. It does not pass
+ * the JPA provider, hence the persistence context and the transaction are not marked rollback-only by a concurrent start.
+ *
+ * @author Heiko Scherrer
+ */
+class StartClaimRepositoryImpl implements StartClaimRepository {
+
+    private static final String CLAIM_START = """
+            update TMS_TRANSPORT_ORDER 
+               set C_STARTED_TU_BK = C_TRANSPORT_UNIT_BK 
+             where C_PK = ? 
+               and not exists (
+                   select o.C_PK 
+                     from TMS_TRANSPORT_ORDER o 
+                    where o.C_STARTED_TU_BK = TMS_TRANSPORT_ORDER.C_TRANSPORT_UNIT_BK 
+                      and o.C_PK <> TMS_TRANSPORT_ORDER.C_PK
+                   )
+            """;
+    /** SQL state class of integrity constraint violations. */
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
+    private final JdbcTemplate jdbcTemplate;
+
+    StartClaimRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int claimStart(Long pk) {
+        return Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            var savepoint = con.getAutoCommit() ? null : con.setSavepoint();
+            try (var ps = con.prepareStatement(CLAIM_START)) {
+                ps.setLong(1, pk);
+                var claimed = ps.executeUpdate();
+                if (savepoint != null) {
+                    con.releaseSavepoint(savepoint);
+                }
+                return claimed;
+            } catch (SQLException sqle) {
+                if (savepoint != null) {
+                    con.rollback(savepoint);
+                }
+                if (sqle.getSQLState() != null && sqle.getSQLState().startsWith(INTEGRITY_CONSTRAINT_VIOLATION)) {
+                    // Another TransportOrder for the same TransportUnit has been claimed concurrently
+                    return 0;
+                }
+                throw sqle;
+            }
+        }));
+    }
+}
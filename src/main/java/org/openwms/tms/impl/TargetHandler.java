@@ -16,6 +16,7 @@
 package org.openwms.tms.impl;
 
 import org.openwms.common.location.api.TargetVO;
+import org.openwms.tms.TransportOrderState;
 
 /**
  * A TargetHandler offers a set of functions according to the specific of the {@code Target} implementation.
@@ -26,10 +27,11 @@ import org.openwms.common.location.api.TargetVO;
 public interface TargetHandler<T extends TargetVO> {
 
     /**
-     * Get the number of {@code TransportOrder}s that are on the way to the specific {@code Target}.
+     * Get the number of {@code TransportOrder}s in one of the {@code states} that are on the way to the specific {@code Target}.
      *
      * @param target The target to search for
+     * @param states The states of the TransportOrders to count
      * @return The number of TransportOrders
      */
-    int getNoTOToTarget(T target);
+    int getNoTOToTarget(T target, TransportOrderState... states);
 }
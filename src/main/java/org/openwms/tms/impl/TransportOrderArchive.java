@@ -0,0 +1,37 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.openwms.tms.TransportOrder;
+
+import java.util.Optional;
+
+/**
+ * A TransportOrderArchive keeps {@link TransportOrder}s that have been moved out of the operational table after they reached a
+ * final state.
+ *
+ * @author Heiko Scherrer
+ */
+public interface TransportOrderArchive {
+
+    /**
+     * Find an archived {@link TransportOrder} by its persistent key.
+     *
+     * @param pKey The persistent key
+     * @return A detached and read-only instance of the archived TransportOrder
+     */
+    Optional<TransportOrder> findBypKey(String pKey);
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+/**
+ * A TransportOrderCacheBroadcaster distributes {@link TransportOrderCacheInvalidation}s to all instances of the service, including
+ * the sending one. Each instance publishes a received invalidation as an application event.
+ *
+ * @author Heiko Scherrer
+ */
+public interface TransportOrderCacheBroadcaster {
+
+    /**
+     * Distribute the {@code invalidation}.
+     *
+     * @param invalidation What to invalidate
+     */
+    void broadcast(TransportOrderCacheInvalidation invalidation);
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.openwms.tms.TransportServiceEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A TransportOrderCacheInvalidator evicts cached snapshots of {@code TransportOrder}s as soon as a change has been committed. The
+ * eviction is done locally and broadcasted to all other instances of the service.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+public class TransportOrderCacheInvalidator {
+
+    /** Name of the cache with snapshots of TransportOrders, keyed by persistent key. */
+    public static final String CACHE_NAME = "transportOrders";
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportOrderCacheInvalidator.class);
+    private final CacheManager cacheManager;
+    private final TransportOrderCacheBroadcaster broadcaster;
+
+    TransportOrderCacheInvalidator(CacheManager cacheManager, TransportOrderCacheBroadcaster broadcaster) {
+        this.cacheManager = cacheManager;
+        this.broadcaster = broadcaster;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(TransportServiceEvent event) {
+        invalidate(event.getSource().getPersistentKey());
+    }
+
+    @EventListener
+    public void onInvalidation(TransportOrderCacheInvalidation invalidation) {
+        evict(invalidation.pKey());
+    }
+
+    /**
+     * Invalidate the cached snapshot of the TransportOrder with the persistent key {@code pKey} after the current transaction has been
+     * committed.
+     *
+     * @param pKey The persistent key of the TransportOrder
+     */
+    public void invalidateAfterCommit(String pKey) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(pKey);
+                }
+            });
+        } else {
+            invalidate(pKey);
+        }
+    }
+
+    private void invalidate(String pKey) {
+        evict(pKey);
+        try {
+            broadcaster.broadcast(new TransportOrderCacheInvalidation(pKey));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Broadcasting the invalidation of TransportOrder [{}] failed, other instances evict it after expiry. Error: [{}]",
+                    pKey, e.getMessage());
+        }
+    }
+
+    private void evict(String pKey) {
+        var cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(pKey);
+        }
+    }
+}
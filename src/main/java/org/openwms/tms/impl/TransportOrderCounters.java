@@ -0,0 +1,266 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.ameba.annotation.Measured;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * A TransportOrderCounters registry keeps the number of active {@link TransportOrder}s per target {@code Location}, per target
+ * {@code LocationGroup} and per {@link TransportOrderState} in memory.
+ * <p>
+ * The registry is updated from {@link TransportServiceEvent}s after the transaction has been committed, seeded from the database
+ * at startup and periodically reconciled with the database. The latter is required to catch up with changes that are done without
+ * publishing an event (e.g. redirecting an order or canceling the orders of a removed TransportUnit). Events that arrive while the counters are rebuilt are replayed onto the rebuilt
+ * ones.
+ * <p>
+ * Changes done by other service instances are only seen with the next reconciliation, so the counters are approximate when more than
+ * one instance is running. Therefore they are disabled by default and should only be enabled for a single instance.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.counters.enabled", havingValue = "true")
+@Component
+public class TransportOrderCounters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportOrderCounters.class);
+    private static final TransportOrderState[] ACTIVE_STATES = Stream.of(TransportOrderState.values())
+            .filter(TransportOrderState::isActive)
+            .toArray(TransportOrderState[]::new);
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+    private final ReadWriteLock swap = new ReentrantReadWriteLock();
+    private volatile Index index = new Index();
+    private volatile Queue<ActiveTransportOrder> replay;
+    private volatile boolean seeded = false;
+
+    TransportOrderCounters(TransportOrderRepository<TransportOrder, Long> repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Check whether the registry can answer a request for the given {@code states}. This is only the case after it has been seeded
+     * and if all {@code states} are active states, because inactive orders are not tracked.
+     *
+     * @param states The requested states
+     * @return {@literal true} if the registry is able to count the orders
+     */
+    public boolean canCount(TransportOrderState... states) {
+        if (!seeded) {
+            return false;
+        }
+        for (var state : states) {
+            if (!state.isActive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of active {@link TransportOrder}s in one of the {@code states} to the {@code target}, where the target is
+     * either the name of a {@code LocationGroup} or the string representation of a {@code Location}.
+     *
+     * @param target The target to count orders for
+     * @param states The states to consider
+     * @return The number of TransportOrders
+     */
+    public int count(String target, TransportOrderState... states) {
+        var current = index;
+        return sum(current.byLocation.get(target), states) + sum(current.byLocationGroup.get(target), states);
+    }
+
+    /**
+     * Get the number of all active {@link TransportOrder}s in the given {@code state}.
+     *
+     * @param state The state to count orders for
+     * @return The number of TransportOrders
+     */
+    public int count(TransportOrderState state) {
+        return index.byState.get(state.ordinal());
+    }
+
+    /**
+     * Get a copy of all counters per target Location.
+     *
+     * @return Target Location as key, number of orders per state as value
+     */
+    public Map<String, Map<TransportOrderState, Integer>> getLocationCounters() {
+        return copyOf(index.byLocation);
+    }
+
+    /**
+     * Get a copy of all counters per target LocationGroup.
+     *
+     * @return Target LocationGroup as key, number of orders per state as value
+     */
+    public Map<String, Map<TransportOrderState, Integer>> getLocationGroupCounters() {
+        return copyOf(index.byLocationGroup);
+    }
+
+    /**
+     * Get a copy of all counters per state.
+     *
+     * @return State as key, number of orders as value
+     */
+    public Map<TransportOrderState, Integer> getStateCounters() {
+        return asMap(index.byState);
+    }
+
+    /**
+     * Update the counters after a {@link TransportOrder} has changed in a committed transaction.
+     *
+     * @param event Carries the changed TransportOrder
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(TransportServiceEvent event) {
+        var to = event.getSource();
+        var order = new ActiveTransportOrder(to.getPersistentKey(), to.getTargetLocation(), to.getTargetLocationGroup(), to.getState());
+        swap.readLock().lock();
+        try {
+            index.apply(order);
+            var pending = replay;
+            if (pending != null) {
+                pending.add(order);
+            }
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    /**
+     * Seed the registry from the database once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Rebuild all counters from the database and replace the current ones.
+     */
+    @Measured
+    @Scheduled(initialDelayString = "${owms.tms.counters.reconcile-interval:PT1M}", fixedDelayString = "${owms.tms.counters.reconcile-interval:PT1M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        var pending = new ConcurrentLinkedQueue<ActiveTransportOrder>();
+        replay = pending;
+        var fresh = new Index();
+        try {
+            repository.findAllInStates(ACTIVE_STATES).forEach(fresh::apply);
+        } catch (RuntimeException e) {
+            replay = null;
+            throw e;
+        }
+        Index previous;
+        swap.writeLock().lock();
+        try {
+            // Events committed during the rebuild may already be part of the snapshot, replaying them in order leads to the same result
+            pending.forEach(fresh::apply);
+            previous = index;
+            index = fresh;
+            replay = null;
+        } finally {
+            swap.writeLock().unlock();
+        }
+        seeded = true;
+        if (LOGGER.isDebugEnabled() && !previous.byState.toString().equals(fresh.byState.toString())) {
+            LOGGER.debug("Reconciled TransportOrder counters from [{}] to [{}]", previous.byState, fresh.byState);
+        }
+    }
+
+    private static int sum(AtomicIntegerArray counters, TransportOrderState... states) {
+        if (counters == null) {
+            return 0;
+        }
+        var result = 0;
+        for (var state : states) {
+            result += counters.get(state.ordinal());
+        }
+        return result;
+    }
+
+    private static Map<String, Map<TransportOrderState, Integer>> copyOf(ConcurrentMap<String, AtomicIntegerArray> counters) {
+        var result = new TreeMap<String, Map<TransportOrderState, Integer>>();
+        counters.forEach((target, values) -> result.put(target, asMap(values)));
+        return result;
+    }
+
+    private static Map<TransportOrderState, Integer> asMap(AtomicIntegerArray values) {
+        var result = new EnumMap<TransportOrderState, Integer>(TransportOrderState.class);
+        for (var state : ACTIVE_STATES) {
+            result.put(state, values.get(state.ordinal()));
+        }
+        return result;
+    }
+
+    /**
+     * Holds the tracked orders and their aggregated counters. Each order is tracked with its last known targets and state, so that
+     * an update can subtract the old contribution before adding the new one.
+     */
+    private static final class Index {
+
+        private final ConcurrentMap<String, ActiveTransportOrder> orders = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, AtomicIntegerArray> byLocation = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, AtomicIntegerArray> byLocationGroup = new ConcurrentHashMap<>();
+        private final AtomicIntegerArray byState = new AtomicIntegerArray(TransportOrderState.values().length);
+
+        void apply(ActiveTransportOrder order) {
+            orders.compute(order.pKey(), (pKey, previous) -> {
+                add(previous, -1);
+                var current = order.state() != null && order.state().isActive() ? order : null;
+                add(current, 1);
+                return current;
+            });
+        }
+
+        private void add(ActiveTransportOrder order, int delta) {
+            if (order == null) {
+                return;
+            }
+            var ordinal = order.state().ordinal();
+            byState.addAndGet(ordinal, delta);
+            if (order.targetLocation() != null) {
+                byLocation.computeIfAbsent(order.targetLocation(), k -> new AtomicIntegerArray(byState.length())).addAndGet(ordinal, delta);
+            }
+            if (order.targetLocationGroup() != null) {
+                byLocationGroup.computeIfAbsent(order.targetLocationGroup(), k -> new AtomicIntegerArray(byState.length())).addAndGet(ordinal, delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.openwms.tms.TransportOrderState;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A TransportOrderCountersEndpoint exposes the {@link TransportOrderCounters} as actuator endpoint.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.counters.enabled", havingValue = "true")
+@Endpoint(id = "transportordercounters")
+@Component
+public class TransportOrderCountersEndpoint {
+
+    private final TransportOrderCounters counters;
+
+    TransportOrderCountersEndpoint(TransportOrderCounters counters) {
+        this.counters = counters;
+    }
+
+    @ReadOperation
+    public Map<String, Object> counters() {
+        var result = new LinkedHashMap<String, Object>(3);
+        result.put("states", counters.getStateCounters());
+        result.put("locations", counters.getLocationCounters());
+        result.put("locationGroups", counters.getLocationGroupCounters());
+        return result;
+    }
+
+    @ReadOperation
+    public Map<TransportOrderState, Integer> countersOf(@Selector String target) {
+        var result = new EnumMap<TransportOrderState, Integer>(TransportOrderState.class);
+        for (var state : TransportOrderState.values()) {
+            if (state.isActive()) {
+                result.put(state, counters.count(target, state));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.ameba.annotation.Measured;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A TransportOrderDispatchQueues registry keeps the INITIALIZED {@link TransportOrder}s per {@code TransportUnit} in memory, sorted in
+ * the order they have to be started: highest priority first, then the oldest one and finally the one with the lowest primary key. This
+ * is the same order the database query for the next {@code TransportOrder} to start uses.
+ * <p>
+ * The queues are seeded from the database at startup and updated from {@link TransportServiceEvent}s and changes within the current
+ * transaction, so that they see the same state as a query in that transaction would do. If the transaction is rolled back, the queue of
+ * the affected {@code TransportUnit} is marked as untracked and rebuilt from the database on its next use. A periodic self-check
+ * compares the queues with the database and marks diverging ones as untracked too. This catches changes done by other service
+ * instances, therefore the registry is best suited to deployments with a single instance.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.dispatch-queues.enabled", havingValue = "true")
+@Component
+public class TransportOrderDispatchQueues {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportOrderDispatchQueues.class);
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+    private final ConcurrentMap<String, QueuedTransportOrder> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Queue> queues = new ConcurrentHashMap<>();
+    private final Set<String> untracked = ConcurrentHashMap.newKeySet();
+    private volatile boolean seeded = false;
+
+    TransportOrderDispatchQueues(TransportOrderRepository<TransportOrder, Long> repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Check whether the queue of the {@code TransportUnit} is known and in sync with the database.
+     *
+     * @param transportUnitBK The business key of the TransportUnit
+     * @return {@literal true} if the queue can be used, otherwise the next order must be looked up in the database
+     */
+    public boolean isTracked(String transportUnitBK) {
+        return seeded && !untracked.contains(transportUnitBK);
+    }
+
+    /**
+     * Get the primary key of the {@link TransportOrder} that is next to start for the {@code TransportUnit}.
+     *
+     * @param transportUnitBK The business key of the TransportUnit
+     * @return The primary key of the head of the queue, or nothing if the queue is empty
+     */
+    public Optional<Long> peek(String transportUnitBK) {
+        var queue = queues.get(transportUnitBK);
+        return queue == null ? Optional.empty() : queue.first().map(QueuedTransportOrder::pk);
+    }
+
+    /**
+     * Take the given {@link TransportOrder} into account, it is queued if it is INITIALIZED and removed from any queue otherwise.
+     *
+     * @param transportOrder The changed TransportOrder
+     */
+    public void apply(TransportOrder transportOrder) {
+        var current = transportOrder.getState() == TransportOrderState.INITIALIZED && transportOrder.getTransportUnitBK() != null
+                ? new QueuedTransportOrder(transportOrder.getPk(), transportOrder.getPersistentKey(), transportOrder.getTransportUnitBK(),
+                transportOrder.getPriority(), transportOrder.getCreateDt())
+                : null;
+        var previous = apply(transportOrder.getPersistentKey(), current);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        untrack(previous);
+                        untrack(current);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Update the queues after a {@link TransportOrder} has changed. Runs before all other listeners, because they may fail and
+     * break the chain of listeners.
+     *
+     * @param event Carries the changed TransportOrder
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onEvent(TransportServiceEvent event) {
+        apply(event.getSource());
+    }
+
+    /**
+     * Replace the queue of the {@code TransportUnit} with the given INITIALIZED {@link TransportOrder}s and mark it as tracked.
+     *
+     * @param transportUnitBK The business key of the TransportUnit
+     * @param initialized All INITIALIZED TransportOrders of the TransportUnit
+     */
+    public void rebuild(String transportUnitBK, Collection<TransportOrder> initialized) {
+        var queue = queues.remove(transportUnitBK);
+        if (queue != null) {
+            queue.snapshot().forEach(q -> entries.remove(q.pKey(), q));
+        }
+        initialized.forEach(this::apply);
+        untracked.remove(transportUnitBK);
+    }
+
+    /**
+     * Seed the queues from the database once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        repository.findAllQueuedInState(TransportOrderState.INITIALIZED).forEach(q -> apply(q.pKey(), q));
+        seeded = true;
+        LOGGER.info("Seeded dispatch queues of [{}] TransportUnits with [{}] TransportOrders", queues.size(), entries.size());
+    }
+
+    /**
+     * Compare all queues with the database and mark the ones that diverge as untracked, so that they are rebuilt on their next use.
+     *
+     * @return The business keys of the TransportUnits with diverging queues
+     */
+    @Measured
+    @Scheduled(initialDelayString = "${owms.tms.dispatch-queues.check-interval:PT5M}", fixedDelayString = "${owms.tms.dispatch-queues.check-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public Set<String> check() {
+        var expected = new HashMap<String, Set<String>>();
+        repository.findAllQueuedInState(TransportOrderState.INITIALIZED)
+                .forEach(q -> expected.computeIfAbsent(q.transportUnitBK(), k -> new HashSet<>()).add(q.pKey()));
+        var actual = new HashMap<String, Set<String>>();
+        entries.values().forEach(q -> actual.computeIfAbsent(q.transportUnitBK(), k -> new HashSet<>()).add(q.pKey()));
+        var diverging = new TreeSet<String>();
+        expected.forEach((transportUnitBK, pKeys) -> {
+            if (!pKeys.equals(actual.get(transportUnitBK))) {
+                diverging.add(transportUnitBK);
+            }
+        });
+        actual.keySet().stream().filter(transportUnitBK -> !expected.containsKey(transportUnitBK)).forEach(diverging::add);
+        untracked.addAll(diverging);
+        if (!diverging.isEmpty()) {
+            LOGGER.warn("Dispatch queues of the TransportUnits [{}] diverged from the database and are rebuilt on their next use", diverging);
+        }
+        return diverging;
+    }
+
+    /**
+     * Get a copy of all queues.
+     *
+     * @return The business key of the TransportUnit as key, the persistent keys of the queued TransportOrders in start order as value
+     */
+    public Map<String, List<String>> getQueues() {
+        var result = new TreeMap<String, List<String>>();
+        queues.forEach((transportUnitBK, queue) -> {
+            var pKeys = queue.snapshot().stream().map(QueuedTransportOrder::pKey).toList();
+            if (!pKeys.isEmpty()) {
+                result.put(transportUnitBK, pKeys);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Get the business keys of all TransportUnits whose queues are not in sync with the database.
+     *
+     * @return A sorted copy
+     */
+    public Set<String> getUntracked() {
+        return new TreeSet<>(untracked);
+    }
+
+    private QueuedTransportOrder apply(String pKey, QueuedTransportOrder current) {
+        var previous = new QueuedTransportOrder[1];
+        entries.compute(pKey, (key, existing) -> {
+            previous[0] = existing;
+            if (existing != null) {
+                queueOf(existing.transportUnitBK()).remove(existing);
+            }
+            if (current != null) {
+                queueOf(current.transportUnitBK()).add(current);
+            }
+            return current;
+        });
+        return previous[0];
+    }
+
+    private Queue queueOf(String transportUnitBK) {
+        return queues.computeIfAbsent(transportUnitBK, k -> new Queue());
+    }
+
+    private void untrack(QueuedTransportOrder queued) {
+        if (queued != null) {
+            untracked.add(queued.transportUnitBK());
+        }
+    }
+
+    /**
+     * The INITIALIZED orders of one TransportUnit in start order.
+     */
+    private static final class Queue {
+
+        private final TreeSet<QueuedTransportOrder> orders = new TreeSet<>(QueuedTransportOrder.START_ORDER);
+
+        synchronized void add(QueuedTransportOrder queued) {
+            orders.add(queued);
+        }
+
+        synchronized void remove(QueuedTransportOrder queued) {
+            orders.remove(queued);
+        }
+
+        synchronized Optional<QueuedTransportOrder> first() {
+            return orders.isEmpty() ? Optional.empty() : Optional.of(orders.first());
+        }
+
+        synchronized List<QueuedTransportOrder> snapshot() {
+            return new ArrayList<>(orders);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A TransportOrderDispatchQueuesEndpoint exposes the {@link TransportOrderDispatchQueues} as actuator endpoint and allows to trigger
+ * the self-check against the database.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.dispatch-queues.enabled", havingValue = "true")
+@Endpoint(id = "dispatchqueues")
+@Component
+public class TransportOrderDispatchQueuesEndpoint {
+
+    private final TransportOrderDispatchQueues dispatchQueues;
+
+    TransportOrderDispatchQueuesEndpoint(TransportOrderDispatchQueues dispatchQueues) {
+        this.dispatchQueues = dispatchQueues;
+    }
+
+    @ReadOperation
+    public Map<String, Object> queues() {
+        var result = new LinkedHashMap<String, Object>(2);
+        result.put("queues", dispatchQueues.getQueues());
+        result.put("untracked", dispatchQueues.getUntracked());
+        return result;
+    }
+
+    @ReadOperation
+    public List<String> queueOf(@Selector String transportUnitBK) {
+        return dispatchQueues.getQueues().getOrDefault(transportUnitBK, List.of());
+    }
+
+    @WriteOperation
+    public Set<String> check() {
+        return dispatchQueues.check();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.ameba.exception.NotFoundException;
+import org.ameba.i18n.Translator;
+import org.openwms.tms.TMSMessageCodes;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderFinder;
+import org.openwms.tms.TransportOrderMapper;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.api.TransportOrderVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A TransportOrderFinderImpl queries constructor projections of {@link TransportOrder}s in read-only transactions.
+ *
+ * @author Heiko Scherrer
+ */
+@TxService
+class TransportOrderFinderImpl implements TransportOrderFinder {
+
+    private final Translator translator;
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+    private final TransportOrderMapper mapper;
+    private final TransportOrderArchive archive;
+
+    TransportOrderFinderImpl(Translator translator, TransportOrderRepository<TransportOrder, Long> repository, TransportOrderMapper mapper,
+            @Autowired(required = false) TransportOrderArchive archive) {
+        this.translator = translator;
+        this.repository = repository;
+        this.mapper = mapper;
+        this.archive = archive;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * May be served by the read replica.
+     */
+    @Override
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    @Measured
+    public List<TransportOrderVO> findBy(String barcode, String... states) {
+        return repository.findVOsByTransportUnitBKAndStates(barcode,
+                Stream.of(states)
+                        .map(TransportOrderState::valueOf)
+                        .toArray(TransportOrderState[]::new)
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * TransportOrders that have already been archived are looked up in the archive. Found snapshots are cached until the
+     * TransportOrder is changed.
+     */
+    @Override
+    @Cacheable(cacheNames = TransportOrderCacheInvalidator.CACHE_NAME, key = "#pKey")
+    @Transactional(readOnly = true)
+    @Measured
+    public @NotNull TransportOrderVO findByPKey(@NotBlank String pKey) {
+        return repository.findVOBypKey(pKey)
+                .or(() -> archive == null ? Optional.empty() : archive.findBypKey(pKey).map(mapper::convertToVO))
+                .orElseThrow(() -> new NotFoundException(translator, TMSMessageCodes.TO_WITH_PKEY_NOT_FOUND, new String[]{pKey}, pKey));
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
+import org.ameba.IDGenerator;
+import org.ameba.annotation.Measured;
+import org.openwms.common.location.LocationPK;
+import org.openwms.tms.PriorityLevel;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderImporter;
+import org.openwms.tms.TransportServiceEvent;
+import org.openwms.tms.api.CreateTransportOrderVO;
+import org.openwms.tms.api.TransportOrderImportVO;
+import org.openwms.tms.api.ValidationGroups;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+/**
+ * A TransportOrderImporterImpl streams the lines of an import, validates each line and writes the valid TransportOrders in chunks.
+ * Each chunk is written in its own transaction with one batched flush, afterwards the persistence context is cleared so that memory
+ * consumption does not grow with the size of the import. If a chunk cannot be written, its rows are written one by one, so that only
+ * the failing rows are reported.
+ * <p>
+ * After a chunk has been committed, one {@code TRANSPORT_CREATED} event per {@code TransportUnit} is handed over to a single lifecycle
+ * thread, because the initialization processes all created orders of a {@code TransportUnit} at once. The calling thread does not
+ * run the lifecycle, it only runs it itself when the hand over queue is full. Events still queued when the service stops are lost,
+ * the orders stay CREATED until the next order of their {@code TransportUnit} is created.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class TransportOrderImporterImpl implements TransportOrderImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportOrderImporterImpl.class);
+    @PersistenceContext
+    private EntityManager em;
+    private final TransactionTemplate txTemplate;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final IDGenerator<String> idGenerator;
+    private final AfterCommitEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxReportedFailures;
+    private final ThreadPoolExecutor lifecycle;
+
+    TransportOrderImporterImpl(PlatformTransactionManager transactionManager, Validator validator, ObjectMapper objectMapper,
+            IDGenerator<String> idGenerator, AfterCommitEventPublisher eventPublisher,
+            @Value("${owms.tms.import.chunk-size:1000}") int chunkSize,
+            @Value("${owms.tms.import.max-reported-failures:1000}") int maxReportedFailures,
+            @Value("${owms.tms.import.lifecycle-queue:100}") int lifecycleQueue) {
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(CreateTransportOrderVO.class);
+        this.idGenerator = idGenerator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxReportedFailures = maxReportedFailures;
+        this.lifecycle = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(lifecycleQueue),
+                Thread.ofPlatform().name("tms-import-lifecycle").daemon().factory(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        var pending = lifecycle.shutdownNow();
+        if (!pending.isEmpty()) {
+            LOGGER.warn("Stopped with [{}] imported chunks whose lifecycle has not been triggered", pending.size());
+        }
+    }
+
+    private record Row(long line, CreateTransportOrderVO vo, TransportOrder transportOrder) {}
+
+    private final class Result {
+        private long imported;
+        private long failed;
+        private final List<TransportOrderImportVO.Failure> failures = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (failures.size() < maxReportedFailures) {
+                failures.add(new TransportOrderImportVO.Failure(line, message));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public TransportOrderImportVO importFrom(BufferedReader reader, Format format) throws IOException {
+        var start = System.nanoTime();
+        var result = new Result();
+        var chunk = new ArrayList<Row>(chunkSize);
+        long lineNo = 0;
+        Function<String, CreateTransportOrderVO> parser;
+        if (format == Format.CSV) {
+            var header = reader.readLine();
+            lineNo++;
+            if (header == null) {
+                return new TransportOrderImportVO(0, 0, 0, List.of());
+            }
+            parser = csvParser(header);
+        } else {
+            parser = this::parseNdjson;
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                var vo = parser.apply(line);
+                chunk.add(new Row(lineNo, vo, toTransportOrder(vo)));
+            } catch (IllegalArgumentException iae) {
+                result.fail(lineNo, iae.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                write(chunk, result);
+            }
+        }
+        write(chunk, result);
+        var seconds = (System.nanoTime() - start) / 1_000_000_000d;
+        var rowsPerSecond = seconds > 0 ? result.imported / seconds : result.imported;
+        LOGGER.info("Imported [{}] TransportOrders with [{}] failures from [{}] lines, [{}] rows/s", result.imported, result.failed, lineNo,
+                Math.round(rowsPerSecond));
+        return new TransportOrderImportVO(result.imported, result.failed, rowsPerSecond, result.failures);
+    }
+
+    private CreateTransportOrderVO parseNdjson(String line) {
+        try {
+            return ndjsonReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(format("Not a valid JSON object: [%s]", e.getOriginalMessage()));
+        }
+    }
+
+    private static Function<String, CreateTransportOrderVO> csvParser(String header) {
+        var columns = new HashMap<String, Integer>();
+        var names = split(header);
+        for (var i = 0; i < names.length; i++) {
+            columns.put(names[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("barcode") || !columns.containsKey("target")) {
+            throw new IllegalArgumentException("The CSV header must at least contain the columns barcode and target");
+        }
+        return line -> {
+            var values = split(line);
+            return CreateTransportOrderVO.newBuilder()
+                    .withBarcode(value(values, columns, "barcode"))
+                    .withTarget(value(values, columns, "target"))
+                    .withPriority(value(values, columns, "priority"))
+                    .build();
+        };
+    }
+
+    /**
+     * Split one CSV line into its fields. Fields may be enclosed in double quotes to contain commas, a double quote within a quoted
+     * field is escaped by another one. Quoted fields spanning several lines are not supported.
+     */
+    static String[] split(String line) {
+        var values = new ArrayList<String>();
+        var value = new StringBuilder();
+        var quoted = false;
+        for (var i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values.toArray(String[]::new);
+    }
+
+    private static String value(String[] values, Map<String, Integer> columns, String column) {
+        var idx = columns.get(column);
+        if (idx == null || idx >= values.length) {
+            return null;
+        }
+        var value = values[idx].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private TransportOrder toTransportOrder(CreateTransportOrderVO vo) {
+        var violations = validator.validate(vo, ValidationGroups.OrderCreation.class);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        var transportOrder = new TransportOrder(vo.getBarcode());
+        transportOrder.setPersistentKey(idGenerator.generate());
+        if (LocationPK.isValid(vo.getTarget())) {
+            transportOrder.setTargetLocation(vo.getTarget());
+        } else {
+            transportOrder.setTargetLocationGroup(vo.getTarget());
+        }
+        transportOrder.setPriority(vo.getPriority() == null || vo.getPriority().isEmpty()
+                ? PriorityLevel.NORMAL
+                : PriorityLevel.of(vo.getPriority()));
+        return transportOrder;
+    }
+
+    private void write(List<Row> chunk, Result result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            persist(chunk);
+            result.imported += chunk.size();
+            triggerLifecycle(chunk);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Importing the chunk of lines [{}] to [{}] failed with [{}], import line by line", chunk.getFirst().line(),
+                    chunk.getLast().line(), e.getMessage());
+            var written = new ArrayList<Row>(chunk.size());
+            for (var failed : chunk) {
+                // The entity of the failed attempt may already carry a primary key, so it is created again
+                var row = new Row(failed.line(), failed.vo(), toTransportOrder(failed.vo()));
+                try {
+                    persist(List.of(row));
+                    written.add(row);
+                } catch (RuntimeException re) {
+                    LOGGER.error("Importing line [{}] failed with [{}]", row.line(), re.getMessage());
+                    result.fail(row.line(), re.getMessage());
+                }
+            }
+            result.imported += written.size();
+            triggerLifecycle(written);
+        }
+        chunk.clear();
+    }
+
+    private void persist(List<Row> rows) {
+        txTemplate.executeWithoutResult(status -> {
+            rows.forEach(row -> em.persist(row.transportOrder()));
+            em.flush();
+            em.clear();
+        });
+    }
+
+    private void triggerLifecycle(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        var perTransportUnit = new LinkedHashMap<String, TransportServiceEvent>();
+        for (var row : rows) {
+            perTransportUnit.putIfAbsent(row.transportOrder().getTransportUnitBK(),
+                    new TransportServiceEvent(row.transportOrder(), TransportServiceEvent.TYPE.TRANSPORT_CREATED));
+        }
+        var events = List.copyOf(perTransportUnit.values());
+        lifecycle.execute(() -> eventPublisher.publishAfterCommit(events));
+    }
+}
@@ -15,12 +15,20 @@
  */
 package org.openwms.tms.impl;
 
+import org.openwms.tms.PriorityLevel;
 import org.openwms.tms.TransportOrder;
 import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.api.TransportOrderVO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,7 +38,8 @@ import java.util.Optional;
  *
  * @author Heiko Scherrer
  */
-interface TransportOrderJpaRepository extends TransportOrderRepository<TransportOrder, Long>, JpaRepository<TransportOrder, Long> {
+interface TransportOrderJpaRepository extends TransportOrderRepository<TransportOrder, Long>, JpaRepository<TransportOrder, Long>,
+        TransportOrderSearchRepository, StartClaimRepository {
 
     @Query("""
               select to 
@@ -46,22 +55,213 @@ interface TransportOrderJpaRepository extends TransportOrderRepository<Transport
             """)
     List<TransportOrder> findBypKeys(List<String> pKeys);
 
-    List<TransportOrder> findByTargetLocation(String targetLocation);
+    @Query("""
+            select to.transportUnitBK 
+              from TransportOrder to 
+             where to.pKey = ?1
+            """)
+    Optional<String> findTransportUnitBKBypKey(String pKey);
+
+    @Query("""
+            select distinct to.transportUnitBK 
+              from TransportOrder to 
+             where to.pKey in ?1
+            """)
+    List<String> findTransportUnitBKsBypKeys(Collection<String> pKeys);
+
+    @Query("""
+            select new org.openwms.tms.api.TransportOrderVO(to.pKey, to.transportUnitBK, str(to.state), str(to.priority), 
+                   to.sourceLocation, to.targetLocation, to.targetLocationGroup) 
+              from TransportOrder to 
+             where to.pKey = ?1
+            """)
+    Optional<TransportOrderVO> findVOBypKey(String pKey);
+
+    @Query("""
+                select new org.openwms.tms.api.TransportOrderVO(to.pKey, to.transportUnitBK, str(to.state), str(to.priority), 
+                       to.sourceLocation, to.targetLocation, to.targetLocationGroup) 
+                  from TransportOrder to 
+                 where to.transportUnitBK = ?1 
+                   and to.state in ?2 
+              order by to.priorityOrder desc, to.startDate, to.createDt
+            """)
+    List<TransportOrderVO> findVOsByTransportUnitBKAndStates(String transportUnitBK, TransportOrderState... states);
+
+    @Query("""
+            select count(to) 
+              from TransportOrder to 
+             where to.targetLocation = ?1 
+               and to.state in ?2
+            """)
+    int countByTargetLocationAndStates(String targetLocation, TransportOrderState... states);
+
+    @Query("""
+            select count(to) 
+              from TransportOrder to 
+             where to.targetLocationGroup = ?1 
+               and to.state in ?2
+            """)
+    int countByTargetLocationGroupAndStates(String targetLocationGroup, TransportOrderState... states);
 
     @Query("""
                 select to 
                   from TransportOrder to 
                  where to.transportUnitBK = ?1 
                    and to.state in ?2 
-              order by to.priority desc, to.startDate, to.createDt
+              order by to.priorityOrder desc, to.startDate, to.createDt, to.pk
             """)
     List<TransportOrder> findByTransportUnitBKAndStates(String transportUnitBK, TransportOrderState... states);
 
     @Query("""
-            select count(to) 
+                select to 
+                  from TransportOrder to 
+                 where to.transportUnitBK = ?1 
+                   and to.state = ?2 
+              order by to.priorityOrder desc, to.createDt, to.pk
+            """)
+    List<TransportOrder> findNextByTransportUnitBKAndState(String transportUnitBK, TransportOrderState state, Limit limit);
+
+    @Query("""
+                select to.pKey 
+                  from TransportOrder to 
+                 where (to.targetLocation = ?1 or to.targetLocationGroup = ?1) 
+                   and to.state = ?2 
+              order by to.priorityOrder desc, to.createDt, to.pk
+            """)
+    List<String> findpKeysByTargetAndState(String target, TransportOrderState state, Limit limit);
+
+    @Override
+    default List<String> findNextToTarget(String target, TransportOrderState state, int max) {
+        return findpKeysByTargetAndState(target, state, Limit.of(max));
+    }
+
+    @Override
+    default Optional<TransportOrder> findNextToStart(String transportUnitBK, TransportOrderState state) {
+        return findNextByTransportUnitBKAndState(transportUnitBK, state, Limit.of(1)).stream().findFirst();
+    }
+
+    @Query("""
+            select distinct to.transportUnitBK 
+              from TransportOrder to 
+             where to.state = ?1
+            """)
+    List<String> findTransportUnitBKsByState(TransportOrderState state, Limit limit);
+
+    @Query("""
+            select distinct to.transportUnitBK 
+              from TransportOrder to 
+             where to.state = org.openwms.tms.TransportOrderState.INITIALIZED 
+               and not exists (
+                    select o.pk 
+                      from TransportOrder o 
+                     where o.transportUnitBK = to.transportUnitBK 
+                       and o.state = org.openwms.tms.TransportOrderState.STARTED)
+            """)
+    List<String> findTransportUnitBKsWithoutStarted(Limit limit);
+
+    @Override
+    default List<String> findTransportUnitBKsInState(TransportOrderState state, int max) {
+        return findTransportUnitBKsByState(state, Limit.of(max));
+    }
+
+    @Override
+    default List<String> findTransportUnitBKsToStart(int max) {
+        return findTransportUnitBKsWithoutStarted(Limit.of(max));
+    }
+
+    @Query("""
+            select to 
+              from TransportOrder to 
+             where to.pk in ?1
+            """)
+    List<TransportOrder> findByPks(Collection<Long> pks);
+
+    @Query("""
+            select to.pk 
+              from TransportOrder to 
+             where to.pKey in ?1 
+               and to.state in ?2
+            """)
+    List<Long> findPksBypKeysAndStates(Collection<String> pKeys, Collection<TransportOrderState> states);
+
+    @Query("""
+            select to.pk 
               from TransportOrder to 
-             where to.transportUnitBK = :transportUnitBK 
+             where to.transportUnitBK = ?1 
+               and to.state in ?2
+            """)
+    List<Long> findPksByTransportUnitBKAndStates(String transportUnitBK, Collection<TransportOrderState> states);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update versioned TransportOrder to 
+               set to.state = :state, 
+                   to.startedTransportUnitBK = null, 
+                   to.endDate = coalesce(:endDate, to.endDate) 
+             where to.pk in :pks 
+               and to.state in :sources
+            """)
+    int changeState(@Param("pks") Collection<Long> pks, @Param("sources") Collection<TransportOrderState> sources,
+            @Param("state") TransportOrderState state, @Param("endDate") Date endDate);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update versioned TransportOrder to 
+               set to.problem.occurred = :occurred, 
+                   to.problem.messageNo = :messageNo, 
+                   to.problem.messageText = :messageText, 
+                   to.problem.pKey = :pKey 
+             where to.pk in :pks 
                and to.state = :state
             """)
-    int numberOfTransportOrders(@Param("transportUnitBK") String transportUnitBK, @Param("state") TransportOrderState state);
+    int setProblem(@Param("pks") Collection<Long> pks, @Param("state") TransportOrderState state, @Param("occurred") LocalDateTime occurred,
+            @Param("messageNo") String messageNo, @Param("messageText") String messageText, @Param("pKey") String pKey);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update TransportOrder to 
+               set to.startedTransportUnitBK = to.transportUnitBK 
+             where to.state = org.openwms.tms.TransportOrderState.STARTED 
+               and to.startedTransportUnitBK is null 
+               and to.pk = (
+                   select min(o.pk) 
+                     from TransportOrder o 
+                    where o.transportUnitBK = to.transportUnitBK 
+                      and o.state = org.openwms.tms.TransportOrderState.STARTED
+                   ) 
+               and not exists (
+                   select o.pk 
+                     from TransportOrder o 
+                    where o.startedTransportUnitBK = to.transportUnitBK
+                   )
+            """)
+    int backfillStartedTransportUnits();
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update TransportOrder to 
+               set to.priorityOrder = ?2 
+             where to.priority = ?1 
+               and (to.priorityOrder is null or to.priorityOrder <> ?2)
+            """)
+    int backfillPriorityOrder(PriorityLevel priority, int priorityOrder);
+
+    @Query("""
+            select new org.openwms.tms.impl.ActiveTransportOrder(to.pKey, to.targetLocation, to.targetLocationGroup, to.state) 
+              from TransportOrder to 
+             where to.state in ?1
+            """)
+    List<ActiveTransportOrder> findAllInStates(TransportOrderState... states);
+
+    @Query("""
+            select new org.openwms.tms.impl.QueuedTransportOrder(to.pk, to.pKey, to.transportUnitBK, to.priority, to.createDt) 
+              from TransportOrder to 
+             where to.state = ?1 
+               and to.transportUnitBK is not null
+            """)
+    List<QueuedTransportOrder> findAllQueuedInState(TransportOrderState state);
 }
@@ -15,11 +15,17 @@
  */
 package org.openwms.tms.impl;
 
+import org.openwms.tms.SearchCursor;
+import org.openwms.tms.PriorityLevel;
 import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderFilter;
 import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.api.TransportOrderVO;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,15 +41,87 @@ public interface TransportOrderRepository<T extends TransportOrder, ID extends L
 
     <S extends T> S saveAndFlush(S entity);
 
+    <S extends T> List<S> saveAll(Iterable<S> entities);
+
+    void flush();
+
     Optional<T> findById(ID pk);
 
     Optional<TransportOrder> findBypKey(String pKey);
 
     List<TransportOrder> findBypKeys(List<String> pKeys);
 
-    List<TransportOrder> findByTargetLocation(String targetLocation);
+    Optional<String> findTransportUnitBKBypKey(String pKey);
+
+    List<String> findTransportUnitBKsBypKeys(Collection<String> pKeys);
+
+    Optional<TransportOrderVO> findVOBypKey(String pKey);
+
+    List<TransportOrderVO> findVOsByTransportUnitBKAndStates(String transportUnitBK, TransportOrderState... states);
+
+    int countByTargetLocationAndStates(String targetLocation, TransportOrderState... states);
+
+    int countByTargetLocationGroupAndStates(String targetLocationGroup, TransportOrderState... states);
 
     List<TransportOrder> findByTransportUnitBKAndStates(String transportUnitBK, TransportOrderState... states);
 
-    int numberOfTransportOrders(@Param("transportUnitBK") String transportUnitBK, @Param("state") TransportOrderState state);
+    /**
+     * Find the {@code TransportOrder} of a {@code TransportUnit} in {@code state} that is next to start, the one with the highest
+     * priority and the oldest creation date.
+     *
+     * @param transportUnitBK The business key of the TransportUnit
+     * @param state The state the TransportOrder must be in
+     * @return The next one
+     */
+    Optional<TransportOrder> findNextToStart(String transportUnitBK, TransportOrderState state);
+
+    /**
+     * Find the persistent keys of the {@code TransportOrder}s in {@code state} to the {@code target} in the order they have to be
+     * started, the ones with the highest priority and the oldest creation date first.
+     *
+     * @param target The name of the target LocationGroup or the target Location
+     * @param state The state the TransportOrders must be in
+     * @param max The maximum number of keys to return
+     * @return The persistent keys
+     */
+    List<String> findNextToTarget(String target, TransportOrderState state, int max);
+
+    /**
+     * Find the business keys of the {@code TransportUnit}s that have {@code TransportOrder}s in {@code state}.
+     *
+     * @param state The state the TransportOrders must be in
+     * @param max The maximum number of keys to return
+     * @return The business keys
+     */
+    List<String> findTransportUnitBKsInState(TransportOrderState state, int max);
+
+    /**
+     * Find the business keys of the {@code TransportUnit}s that have INITIALIZED {@code TransportOrder}s but no STARTED one.
+     *
+     * @param max The maximum number of keys to return
+     * @return The business keys
+     */
+    List<String> findTransportUnitBKsToStart(int max);
+
+    List<TransportOrder> search(TransportOrderFilter filter, SearchCursor after, int limit);
+
+    List<TransportOrder> findByPks(Collection<Long> pks);
+
+    List<Long> findPksBypKeysAndStates(Collection<String> pKeys, Collection<TransportOrderState> states);
+
+    List<Long> findPksByTransportUnitBKAndStates(String transportUnitBK, Collection<TransportOrderState> states);
+
+    int changeState(Collection<Long> pks, Collection<TransportOrderState> sources, TransportOrderState state, Date endDate);
+
+    int setProblem(Collection<Long> pks, TransportOrderState state, LocalDateTime occurred, String messageNo, String messageText, String pKey);
+
+    int claimStart(Long pk);
+
+    int backfillStartedTransportUnits();
+
+    int backfillPriorityOrder(PriorityLevel priority, int priorityOrder);
+
+    List<ActiveTransportOrder> findAllInStates(TransportOrderState... states);
+
+    List<QueuedTransportOrder> findAllQueuedInState(TransportOrderState state);
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.openwms.tms.SearchCursor;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderFilter;
+
+import java.util.List;
+
+/**
+ * A TransportOrderSearchRepository is a Spring Data repository fragment to search {@link TransportOrder}s with dynamic criteria.
+ *
+ * @author Heiko Scherrer
+ */
+interface TransportOrderSearchRepository {
+
+    /**
+     * Find {@link TransportOrder}s that match the {@code filter}, ordered by priority descending, creation date ascending and
+     * primary key ascending.
+     *
+     * @param filter The search criteria
+     * @param after The position to continue after, {@literal null} to start with the first page
+     * @param limit The maximum number of results
+     * @return The TransportOrders, never {@literal null}
+     */
+    List<TransportOrder> search(TransportOrderFilter filter, SearchCursor after, int limit);
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.openwms.tms.SearchCursor;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderFilter;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A TransportOrderSearchRepositoryImpl builds the search query with the Criteria API. Paging is done with a keyset predicate on
+ * {@code (priority, createDt, pk)} instead of an OFFSET, so each page costs the same regardless of its position. Time windows on
+ * {@code LocalDateTime} columns are converted in the time zone the JDBC layer is configured with.
+ *
+ * @author Heiko Scherrer
+ */
+class TransportOrderSearchRepositoryImpl implements TransportOrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+    @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:UTC}")
+    private ZoneId zone;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<TransportOrder> search(TransportOrderFilter filter, SearchCursor after, int limit) {
+        var cb = em.getCriteriaBuilder();
+        var query = cb.createQuery(TransportOrder.class);
+        var root = query.from(TransportOrder.class);
+        Path<Integer> priority = root.get("priorityOrder");
+        Path<Comparable> createDt = root.get("createDt");
+        Path<Long> pk = root.get("pk");
+
+        var predicates = new ArrayList<Predicate>();
+        if (!filter.getStates().isEmpty()) {
+            predicates.add(root.get("state").in(filter.getStates()));
+        }
+        if (filter.getTransportUnitBK() != null) {
+            predicates.add(cb.equal(root.get("transportUnitBK"), filter.getTransportUnitBK()));
+        }
+        if (filter.getTargetLocation() != null) {
+            predicates.add(cb.equal(root.get("targetLocation"), filter.getTargetLocation()));
+        }
+        if (filter.getTargetLocationGroup() != null) {
+            predicates.add(cb.equal(root.get("targetLocationGroup"), filter.getTargetLocationGroup()));
+        }
+        if (filter.getPriority() != null) {
+            predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+        }
+        addTimeWindow(cb, predicates, createDt, filter.getCreatedFrom(), filter.getCreatedTo());
+        addTimeWindow(cb, predicates, root.get("startDate"), filter.getStartedFrom(), filter.getStartedTo());
+        addTimeWindow(cb, predicates, root.get("endDate"), filter.getEndedFrom(), filter.getEndedTo());
+        if (after != null) {
+            var afterCreateDt = (Comparable) after.getCreateDt();
+            predicates.add(cb.or(
+                    cb.lessThan(priority, after.getPriority()),
+                    cb.and(cb.equal(priority, after.getPriority()), cb.or(
+                            cb.greaterThan(createDt, afterCreateDt),
+                            cb.and(cb.equal(createDt, afterCreateDt), cb.greaterThan(pk, after.getPk()))
+                    ))
+            ));
+        }
+        query.where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(priority), cb.asc(createDt), cb.asc(pk));
+        return em.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void addTimeWindow(CriteriaBuilder cb, List<Predicate> predicates, Path path, Instant from, Instant to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, (Comparable) convert(from, path.getJavaType())));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, (Comparable) convert(to, path.getJavaType())));
+        }
+    }
+
+    private Object convert(Instant instant, Class<?> type) {
+        if (LocalDateTime.class.equals(type)) {
+            return LocalDateTime.ofInstant(instant, zone);
+        }
+        if (Instant.class.equals(type)) {
+            return instant;
+        }
+        return Date.from(instant);
+    }
+}
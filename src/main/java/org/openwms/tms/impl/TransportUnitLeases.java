@@ -0,0 +1,46 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * A TransportUnitLeases coordinates the start decisions for the same {@code TransportUnit} across all running service instances. Only
+ * the instance that holds the lease of a {@code TransportUnit} is allowed to decide about it.
+ *
+ * @author Heiko Scherrer
+ */
+public interface TransportUnitLeases {
+
+    /**
+     * Acquire the lease of the {@code TransportUnit} until the current transaction completes. The lease is verified with its fencing
+     * token right before the transaction commits.
+     *
+     * @param transportUnitBK The business key of the TransportUnit
+     * @return The fencing token of the lease
+     * @throws org.openwms.tms.StateChangeException If the lease is held by another instance or another transaction
+     */
+    long acquire(String transportUnitBK);
+
+    /**
+     * Acquire the leases of all {@code TransportUnit}s until the current transaction completes.
+     *
+     * @param transportUnitBKs The business keys of the TransportUnits
+     * @return The business keys of the TransportUnits whose lease is held by another instance or another transaction
+     */
+    Set<String> acquireAll(Collection<String> transportUnitBKs);
+}
@@ -17,6 +17,7 @@ package org.openwms.tms.impl;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.ameba.IDGenerator;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
 import org.ameba.exception.NotFoundException;
@@ -25,23 +26,28 @@ import org.openwms.common.location.LocationPK;
 import org.openwms.common.location.api.TargetVO;
 import org.openwms.tms.Message;
 import org.openwms.tms.PriorityLevel;
+import org.openwms.tms.SearchCursor;
 import org.openwms.tms.StateChangeException;
 import org.openwms.tms.StateManager;
 import org.openwms.tms.TMSMessageCodes;
 import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderFilter;
 import org.openwms.tms.TransportOrderState;
 import org.openwms.tms.TransportServiceEvent;
 import org.openwms.tms.TransportationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -60,16 +66,36 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
     private final StateManager stateManager;
     private final List<UpdateFunction> updateFunctions;
     private final List<TargetResolver<TargetVO>> targetResolvers;
+    private final IDGenerator<String> idGenerator;
+    private final TransportOrderCounters counters;
+    private final BulkTransitions bulkTransitions;
+    private final TransportOrderArchive archive;
+    private final TransportOrderCacheInvalidator cacheInvalidator;
+    private final AfterCommitEventPublisher afterCommitEventPublisher;
+    private final TransportOrderDispatchQueues dispatchQueues;
+    private final boolean deferredCreation;
 
     TransportationServiceImpl(Translator translator, TransportOrderRepository<TransportOrder, Long> repository, ApplicationContext ctx,
             StateManager stateManager, @Autowired(required = false) List<UpdateFunction> updateFunctions,
-            @Autowired(required = false) List<TargetResolver<TargetVO>> targetResolvers) {
+            @Autowired(required = false) List<TargetResolver<TargetVO>> targetResolvers, IDGenerator<String> idGenerator,
+            @Autowired(required = false) TransportOrderCounters counters, BulkTransitions bulkTransitions,
+            @Autowired(required = false) TransportOrderArchive archive, TransportOrderCacheInvalidator cacheInvalidator,
+            AfterCommitEventPublisher afterCommitEventPublisher, @Value("${owms.tms.create.deferred:false}") boolean deferredCreation,
+            @Autowired(required = false) TransportOrderDispatchQueues dispatchQueues) {
         this.translator = translator;
         this.repository = repository;
         this.ctx = ctx;
         this.stateManager = stateManager;
         this.updateFunctions = updateFunctions;
         this.targetResolvers = targetResolvers;
+        this.idGenerator = idGenerator;
+        this.counters = counters;
+        this.bulkTransitions = bulkTransitions;
+        this.archive = archive;
+        this.cacheInvalidator = cacheInvalidator;
+        this.afterCommitEventPublisher = afterCommitEventPublisher;
+        this.deferredCreation = deferredCreation;
+        this.dispatchQueues = dispatchQueues;
     }
 
     /**
@@ -88,11 +114,15 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
 
     /**
      * {@inheritDoc}
+     * <p>
+     * TransportOrders that have already been archived are looked up in the archive.
      */
     @Override
     @Measured
     public @NotNull TransportOrder findByPKey(@NotBlank String pKey) {
-        return findBy(pKey);
+        return repository.findBypKey(pKey)
+                .or(() -> archive == null ? Optional.empty() : archive.findBypKey(pKey))
+                .orElseThrow(() -> new NotFoundException(translator, TMSMessageCodes.TO_WITH_PKEY_NOT_FOUND, new String[]{pKey}, pKey));
     }
 
     private TransportOrder findBy(String pKey) {
@@ -103,13 +133,33 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
+    @Measured
+    public List<TransportOrder> search(TransportOrderFilter filter, SearchCursor after, int limit) {
+        return repository.search(filter, after, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * May be served by the read replica.
+     */
+    @Override
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @Measured
     public int getNoTransportOrdersToTarget(String target, String... states) {
+        var requestedStates = states == null || states.length == 0
+                ? Stream.of(TransportOrderState.values()).filter(TransportOrderState::isActive).toArray(TransportOrderState[]::new)
+                : Stream.of(states).map(TransportOrderState::valueOf).toArray(TransportOrderState[]::new);
+        if (counters != null && counters.canCount(requestedStates)) {
+            return counters.count(target, requestedStates);
+        }
         int i = 0;
         for (var tr : targetResolvers) {
             var t = tr.resolve(target);
             if (t.isPresent()) {
-                i = +tr.getHandler().getNoTOToTarget(t.get());
+                i += tr.getHandler().getNoTOToTarget(t.get(), requestedStates);
             }
         }
         return i;
@@ -120,6 +170,10 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
      * <p>
      * Checks that all necessary data to create a TransportOrder is given, does not do any logical checks, whether a target is blocked or a
      * {@link TransportOrder} for the {@code TransportUnit} exist.
+     * <p>
+     * With {@code owms.tms.create.deferred} the TransportOrder is inserted once with the commit of the transaction and returned as it is
+     * in memory. The following initialization and start of the TransportOrder happen after the commit, so that their failures are not
+     * reported to the caller but only logged.
      *
      * @throws NotFoundException when the barcode is {@literal null} or no transportunit with barcode can be found or no target
      * can be found.
@@ -135,6 +189,8 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
             LOGGER.debug("Trying to create TransportOrder with Barcode [{}], to Target [{}], with Priority [{}]", barcode, target, priority);
         }
         var transportOrder = new TransportOrder(barcode);
+        // The persistent key is assigned upfront, the primary key is taken from a pre-allocated block
+        transportOrder.setPersistentKey(idGenerator.generate());
         if (LocationPK.isValid(target)) {
             transportOrder.setTargetLocation(target);
         } else {
@@ -145,6 +201,14 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
         } else {
             transportOrder.setPriority(PriorityLevel.NORMAL);
         }
+        if (deferredCreation) {
+            transportOrder = repository.save(transportOrder);
+            afterCommitEventPublisher.publishAfterCommit(List.of(new TransportServiceEvent(transportOrder, TransportServiceEvent.TYPE.TRANSPORT_CREATED)));
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("TransportOrder for Barcode [{}] created. PKey is [{}], PK is [{}]", barcode, transportOrder.getPersistentKey(), transportOrder.getPk());
+            }
+            return transportOrder;
+        }
         transportOrder = repository.saveAndFlush(transportOrder);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("TransportOrder for Barcode [{}] created. PKey is [{}], PK is [{}]", barcode, transportOrder.getPersistentKey(), transportOrder.getPk());
@@ -165,17 +229,34 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
     public TransportOrder update(TransportOrder transportOrder) {
         var saved = findBy(transportOrder.getPersistentKey());
         updateFunctions.forEach(up -> up.update(saved, transportOrder));
+        cacheInvalidator.invalidateAfterCommit(saved.getPersistentKey());
+        if (dispatchQueues != null) {
+            // Priority and TransportUnit may have changed without any event
+            dispatchQueues.apply(saved);
+        }
         return repository.save(saved);
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * All TransportOrders that can be turned into the {@code state} without further validation are changed in bulk, all others are
+     * validated and changed one by one.
      */
     @Override
     @Measured
     public Collection<String> change(TransportOrderState state, Collection<String> pKeys) {
         var failure = new ArrayList<String>(pKeys.size());
-        var transportOrders = repository.findBypKeys(new ArrayList<>(pKeys));
+        var remaining = new HashSet<>(pKeys);
+        var sources = bulkTransitions.sourcesOf(state);
+        if (!sources.isEmpty()) {
+            bulkTransitions.change(repository.findPksBypKeysAndStates(pKeys, sources), state, null)
+                    .forEach(to -> remaining.remove(to.getPersistentKey()));
+        }
+        if (remaining.isEmpty()) {
+            return failure;
+        }
+        var transportOrders = repository.findBypKeys(new ArrayList<>(remaining));
         for (var transportOrder : transportOrders) {
             try {
                 if (LOGGER.isDebugEnabled()) {
@@ -187,7 +268,7 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
                 LOGGER.error("Could not turn TransportOrder: [{}] into [{}], because of [{}]", transportOrder.getPk(), state, sce.getMessage());
                 var problem = new Message.Builder().messageText(sce.getMessage()).build();
                 transportOrder.setProblem(problem);
-                failure.add(transportOrder.getPk().toString());
+                failure.add(transportOrder.getPersistentKey());
             }
         }
         return failure;
@@ -199,6 +280,31 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
     @Override
     @Measured
     public Collection<Message> change(String barcode, TransportOrderState currentState, TransportOrderState targetState, Message message) {
+        return change(barcode, List.of(currentState), targetState, message);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * TransportOrders in one of the {@code currentStates} that can be turned into the {@code targetState} without further validation are
+     * changed with one single statement, all others are validated and changed one by one.
+     */
+    @Override
+    @Measured
+    public Collection<Message> change(String barcode, Collection<TransportOrderState> currentStates, TransportOrderState targetState, Message message) {
+        var sources = bulkTransitions.sourcesOf(targetState);
+        var inBulk = currentStates.stream().filter(sources::contains).toList();
+        if (!inBulk.isEmpty()) {
+            bulkTransitions.change(repository.findPksByTransportUnitBKAndStates(barcode, inBulk), targetState, message);
+        }
+        var failure = new ArrayList<Message>();
+        currentStates.stream()
+                .filter(s -> !inBulk.contains(s))
+                .forEach(s -> failure.addAll(changeOneByOne(barcode, s, targetState, message)));
+        return failure;
+    }
+
+    private List<Message> changeOneByOne(String barcode, TransportOrderState currentState, TransportOrderState targetState, Message message) {
         var transportOrders = repository.findByTransportUnitBKAndStates(barcode, currentState);
         var failure = new ArrayList<Message>();
         for (var transportOrder : transportOrders) {
@@ -224,4 +330,4 @@ class TransportationServiceImpl implements TransportationService<TransportOrder>
         }
         return failure;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An ArchiveJob periodically moves all {@code TransportOrder}s that are in a final state for longer than the configured retention
+ * into the archive. The work is split into chunks with a pause in between to keep the load on the database low.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.archive.enabled", havingValue = "true")
+@Component
+class ArchiveJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveJob.class);
+    private final TransportOrderArchiveImpl archive;
+    private final Duration retention;
+    private final int chunkSize;
+    private final Duration pause;
+
+    ArchiveJob(TransportOrderArchiveImpl archive,
+            @Value("${owms.tms.archive.retention:PT24H}") Duration retention,
+            @Value("${owms.tms.archive.chunk-size:500}") int chunkSize,
+            @Value("${owms.tms.archive.pause:PT1S}") Duration pause) {
+        this.archive = archive;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+    }
+
+    @Scheduled(initialDelayString = "${owms.tms.archive.interval:PT15M}", fixedDelayString = "${owms.tms.archive.interval:PT15M}")
+    void archive() {
+        var endedBefore = Date.from(Instant.now().minus(retention));
+        var total = 0;
+        int moved;
+        do {
+            moved = archive.archive(endedBefore, chunkSize);
+            total += moved;
+            if (moved == chunkSize && !pause()) {
+                break;
+            }
+        } while (moved == chunkSize);
+        if (total > 0) {
+            LOGGER.info("Archived [{}] TransportOrders that ended before [{}]", total, endedBefore);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.archive;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.openwms.tms.ProblemHistory;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * An ArchivedProblemHistory is the archived copy of a {@link ProblemHistory} that belongs to an {@link ArchivedTransportOrder}.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "TMS_PROBLEM_HISTORY_ARCHIVE", indexes = {
+        @Index(name = "IDX_PHA_FK_TO", columnList = "C_FK_TO")
+})
+class ArchivedProblemHistory implements Serializable {
+
+    @Id
+    @Column(name = "C_PK")
+    private Long pk;
+    @Column(name = "C_FK_TO")
+    private Long transportOrderPk;
+    @Column(name = "C_OCCURRED")
+    private LocalDateTime occurred;
+    @Column(name = "C_NO")
+    private String messageNo;
+    @Column(name = "C_MESSAGE_TEXT")
+    private String messageText;
+    @Column(name = "C_MESSAGE_PID")
+    private String pKey;
+
+    /** Dear JPA ... */
+    protected ArchivedProblemHistory() {}
+}
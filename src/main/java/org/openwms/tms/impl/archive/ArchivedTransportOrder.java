@@ -0,0 +1,114 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.archive;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import org.openwms.tms.Message;
+import org.openwms.tms.PriorityLevel;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * An ArchivedTransportOrder is the archived copy of a {@link TransportOrder} in a final state. The primary key of the origin is kept.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "TMS_TRANSPORT_ORDER_ARCHIVE", indexes = {
+        @Index(name = "UC_TOA_PID", columnList = "C_PID", unique = true),
+        @Index(name = "IDX_TOA_TU_BK", columnList = "C_TRANSPORT_UNIT_BK")
+})
+class ArchivedTransportOrder implements Serializable {
+
+    @Id
+    @Column(name = "C_PK")
+    private Long pk;
+    @Column(name = "C_PID")
+    private String pKey;
+    @Column(name = "C_CREATED")
+    private LocalDateTime createDt;
+    @Column(name = "C_ARCHIVED")
+    private LocalDateTime archiveDt;
+    @Column(name = "C_TRANSPORT_UNIT_BK")
+    private String transportUnitBK;
+    @Column(name = "C_PRIORITY")
+    @Enumerated(EnumType.STRING)
+    private PriorityLevel priority;
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "C_START_DATE")
+    private Date startDate;
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "C_END_DATE")
+    private Date endDate;
+    @Column(name = "C_STATE")
+    @Enumerated(EnumType.STRING)
+    private TransportOrderState state;
+    @Column(name = "C_SOURCE_LOCATION")
+    private String sourceLocation;
+    @Column(name = "C_TARGET_LOCATION")
+    private String targetLocation;
+    @Column(name = "C_TARGET_LOCATION_GROUP")
+    private String targetLocationGroup;
+    @Column(name = "C_PROBLEM_OCCURRED")
+    private LocalDateTime problemOccurred;
+    @Column(name = "C_PROBLEM_NO")
+    private String problemNo;
+    @Column(name = "C_PROBLEM_TEXT")
+    private String problemText;
+    @Column(name = "C_PROBLEM_PID")
+    private String problemPKey;
+
+    /** Dear JPA ... */
+    protected ArchivedTransportOrder() {}
+
+    /**
+     * Restore a detached {@link TransportOrder} from the archived copy.
+     *
+     * @return The TransportOrder, not meant to be persisted again
+     */
+    TransportOrder toTransportOrder() {
+        var transportOrder = new TransportOrder(transportUnitBK);
+        transportOrder.setPersistentKey(pKey);
+        transportOrder.setPriority(priority);
+        transportOrder.setStartDate(startDate);
+        transportOrder.setEndDate(endDate);
+        transportOrder.setState(state);
+        transportOrder.setSourceLocation(sourceLocation);
+        transportOrder.setTargetLocation(targetLocation);
+        transportOrder.setTargetLocationGroup(targetLocationGroup);
+        if (problemOccurred != null || problemNo != null || problemText != null) {
+            transportOrder.setProblem(Message.newBuilder()
+                    .occurred(problemOccurred)
+                    .messageNo(problemNo)
+                    .messageText(problemText)
+                    .pKey(problemPKey)
+                    .build());
+        }
+        return transportOrder;
+    }
+}
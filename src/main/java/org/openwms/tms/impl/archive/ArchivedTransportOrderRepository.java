@@ -0,0 +1,87 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.archive;
+
+import org.openwms.tms.TransportOrderState;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An ArchivedTransportOrderRepository offers queries to move {@code TransportOrder}s and their {@code ProblemHistory} into the
+ * archive tables and to read them back from there.
+ *
+ * @author Heiko Scherrer
+ */
+interface ArchivedTransportOrderRepository extends JpaRepository<ArchivedTransportOrder, Long> {
+
+    @Query("""
+            select ato 
+              from ArchivedTransportOrder ato 
+             where ato.pKey = ?1
+            """)
+    Optional<ArchivedTransportOrder> findBypKey(String pKey);
+
+    @Query("""
+                select to.pk 
+                  from TransportOrder to 
+                 where to.state in ?1 
+                   and to.endDate < ?2 
+              order by to.pk
+            """)
+    List<Long> findArchivable(Collection<TransportOrderState> states, Date endedBefore, Limit limit);
+
+    @Modifying
+    @Query("""
+            insert into ArchivedTransportOrder (pk, pKey, createDt, archiveDt, transportUnitBK, priority, startDate, endDate, state, 
+                   sourceLocation, targetLocation, targetLocationGroup, problemOccurred, problemNo, problemText, problemPKey) 
+            select to.pk, to.pKey, cast(to.createDt as LocalDateTime), local datetime, to.transportUnitBK, to.priority, to.startDate, 
+                   to.endDate, to.state, to.sourceLocation, to.targetLocation, to.targetLocationGroup, to.problem.occurred, 
+                   to.problem.messageNo, to.problem.messageText, to.problem.pKey 
+              from TransportOrder to 
+             where to.pk in ?1
+            """)
+    int copyTransportOrders(Collection<Long> pks);
+
+    @Modifying
+    @Query("""
+            insert into ArchivedProblemHistory (pk, transportOrderPk, occurred, messageNo, messageText, pKey) 
+            select ph.pk, ph.transportOrder.pk, ph.problem.occurred, ph.problem.messageNo, ph.problem.messageText, ph.problem.pKey 
+              from ProblemHistory ph 
+             where ph.transportOrder.pk in ?1
+            """)
+    int copyProblemHistories(Collection<Long> transportOrderPks);
+
+    @Modifying
+    @Query("""
+            delete from ProblemHistory ph 
+             where ph.transportOrder.pk in ?1
+            """)
+    int deleteProblemHistories(Collection<Long> transportOrderPks);
+
+    @Modifying
+    @Query("""
+            delete from TransportOrder to 
+             where to.pk in ?1
+            """)
+    int deleteTransportOrders(Collection<Long> pks);
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.archive;
+
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.impl.TransportOrderArchive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A TransportOrderArchiveImpl moves {@link TransportOrder}s in a final state together with their {@code ProblemHistory} into the
+ * archive tables, each chunk in its own transaction.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.archive.enabled", havingValue = "true")
+@TxService
+class TransportOrderArchiveImpl implements TransportOrderArchive {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportOrderArchiveImpl.class);
+    private static final Set<TransportOrderState> FINAL_STATES = EnumSet.of(TransportOrderState.FINISHED, TransportOrderState.ONFAILURE, TransportOrderState.CANCELED);
+    private final ArchivedTransportOrderRepository repository;
+
+    TransportOrderArchiveImpl(ArchivedTransportOrderRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Measured
+    public Optional<TransportOrder> findBypKey(String pKey) {
+        return repository.findBypKey(pKey).map(ArchivedTransportOrder::toTransportOrder);
+    }
+
+    /**
+     * Move the next chunk of {@link TransportOrder}s that ended before {@code endedBefore} into the archive.
+     *
+     * @param endedBefore Only TransportOrders ended before are archived
+     * @param chunkSize The maximum number of TransportOrders to move
+     * @return The number of moved TransportOrders
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Measured
+    public int archive(Date endedBefore, int chunkSize) {
+        var pks = repository.findArchivable(FINAL_STATES, endedBefore, Limit.of(chunkSize));
+        if (pks.isEmpty()) {
+            return 0;
+        }
+        repository.copyTransportOrders(pks);
+        var problems = repository.copyProblemHistories(pks);
+        repository.deleteProblemHistories(pks);
+        var moved = repository.deleteTransportOrders(pks);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Archived [{}] TransportOrders with [{}] ProblemHistory entries", moved, problems);
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.journal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A TransitionJournalEntry is one state transition of a {@code TransportOrder}. Entries are only inserted, never updated. The primary
+ * keys are taken from a sequence in blocks, so that entries can be inserted in batches.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "TMS_TO_JOURNAL", indexes = {
+        @Index(name = "IDX_TOJ_OCCURRED", columnList = "C_OCCURRED")
+})
+class TransitionJournalEntry implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TMS_TO_JOURNAL_SEQ")
+    @SequenceGenerator(name = "TMS_TO_JOURNAL_SEQ", sequenceName = "TMS_TO_JOURNAL_SEQ", allocationSize = 50)
+    @Column(name = "C_PK")
+    private Long pk;
+    @Column(name = "C_TO_PK")
+    private Long transportOrderPk;
+    @Column(name = "C_TO_PID")
+    private String transportOrderPKey;
+    @Column(name = "C_FROM_STATE")
+    private String fromState;
+    @Column(name = "C_TO_STATE", nullable = false)
+    private String toState;
+    @Column(name = "C_OCCURRED", nullable = false)
+    private LocalDateTime occurred;
+    @Column(name = "C_NODE")
+    private String node;
+    @Column(name = "C_CAUSE")
+    private String cause;
+
+    /** Dear JPA ... */
+    protected TransitionJournalEntry() {}
+
+    TransitionJournalEntry(Long transportOrderPk, String transportOrderPKey, String fromState, String toState, LocalDateTime occurred,
+            String node, String cause) {
+        this.transportOrderPk = transportOrderPk;
+        this.transportOrderPKey = transportOrderPKey;
+        this.fromState = fromState;
+        this.toState = toState;
+        this.occurred = occurred;
+        this.node = node;
+        this.cause = cause;
+    }
+}
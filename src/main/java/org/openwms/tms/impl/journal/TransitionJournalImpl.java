@@ -0,0 +1,118 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.journal;
+
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.openwms.tms.TransitionJournal;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.api.TransitionVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A TransitionJournalImpl buffers the transitions of a transaction in memory and writes all of them in one batch right before the
+ * transaction commits. So the journal is as durable as the transitions themselves, while the single transition only costs an append
+ * to the buffer. A rolled back transaction leaves no entries.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.journal.enabled", havingValue = "true")
+@TxService
+class TransitionJournalImpl implements TransitionJournal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransitionJournalImpl.class);
+    private final TransitionJournalRepository repository;
+    private final String node;
+
+    TransitionJournalImpl(TransitionJournalRepository repository,
+            @Value("${owms.tms.journal.node:${HOSTNAME:${spring.application.name}}}") String node) {
+        this.repository = repository;
+        this.node = node;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void record(TransportOrder transportOrder, TransportOrderState from, TransportOrderState to, String cause) {
+        if (cause == null && !to.isActive() && transportOrder.getProblem() != null) {
+            cause = transportOrder.getProblem().getMessageText();
+        }
+        var entry = new TransitionJournalEntry(
+                transportOrder.getPk(),
+                transportOrder.getPersistentKey(),
+                from == null ? null : from.name(),
+                to.name(),
+                LocalDateTime.now(),
+                node,
+                cause
+        );
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            repository.save(entry);
+            return;
+        }
+        buffer().add(entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TransitionJournalEntry> buffer() {
+        var buffer = (List<TransitionJournalEntry>) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            var entries = new ArrayList<TransitionJournalEntry>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    repository.saveAll(entries);
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("Journaled [{}] transitions", entries.size());
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransitionJournalImpl.this);
+                }
+            });
+            buffer = entries;
+        }
+        return buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public void stream(LocalDateTime from, LocalDateTime to, Consumer<TransitionVO> consumer) {
+        try (var transitions = repository.streamBetween(from, to)) {
+            transitions.forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.journal;
+
+import jakarta.persistence.QueryHint;
+import org.openwms.tms.api.TransitionVO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * A TransitionJournalRepository.
+ *
+ * @author Heiko Scherrer
+ */
+interface TransitionJournalRepository extends JpaRepository<TransitionJournalEntry, Long> {
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("""
+                select new org.openwms.tms.api.TransitionVO(j.transportOrderPKey, j.fromState, j.toState, j.occurred, j.node, j.cause) 
+                  from TransitionJournalEntry j 
+                 where j.occurred >= ?1 
+                   and j.occurred < ?2 
+              order by j.occurred, j.pk
+            """)
+    Stream<TransitionVO> streamBetween(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.lease;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A TransportUnitLease is the lease one service instance holds on a {@code TransportUnit}. The token is incremented with each change of
+ * the owner and fences off writes of a previous owner whose lease has expired.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "TMS_TU_LEASE")
+class TransportUnitLease implements Serializable {
+
+    @Id
+    @Column(name = "C_TRANSPORT_UNIT_BK")
+    private String transportUnitBK;
+    @Column(name = "C_OWNER", nullable = false)
+    private String owner;
+    @Column(name = "C_TOKEN", nullable = false)
+    private long token;
+    @Column(name = "C_EXPIRES", nullable = false)
+    private LocalDateTime expires;
+
+    /** Dear JPA ... */
+    protected TransportUnitLease() {}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.lease;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * A TransportUnitLeaseRepository offers conditional updates to take over, verify and release {@link TransportUnitLease}s. Each update
+ * is atomic in the database, so that only one instance can succeed. The fencing token is only incremented when the lease is
+ * taken over from another owner.
+ *
+ * @author Heiko Scherrer
+ */
+interface TransportUnitLeaseRepository extends JpaRepository<TransportUnitLease, String> {
+
+    @Query("""
+            select l.token 
+              from TransportUnitLease l 
+             where l.transportUnitBK = ?1 
+               and l.owner = ?2
+            """)
+    Optional<Long> findToken(String transportUnitBK, String owner);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            insert into TransportUnitLease (transportUnitBK, owner, token, expires) 
+            values (?1, ?2, 1, ?3)
+            """)
+    int insert(String transportUnitBK, String owner, LocalDateTime expires);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update TransportUnitLease l 
+               set l.token = case when l.owner = ?2 then l.token else l.token + 1 end, l.owner = ?2, l.expires = ?3 
+             where l.transportUnitBK = ?1 
+               and (l.owner = ?2 or l.expires < ?4)
+            """)
+    int takeOver(String transportUnitBK, String owner, LocalDateTime expires, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update TransportUnitLease l 
+               set l.expires = ?4 
+             where l.transportUnitBK = ?1 
+               and l.owner = ?2 
+               and l.token = ?3
+            """)
+    int extend(String transportUnitBK, String owner, long token, LocalDateTime expires);
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.lease;
+
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.openwms.tms.StateChangeException;
+import org.openwms.tms.impl.TransportUnitLeases;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * A TransportUnitLeasesImpl stores the leases in the database table {@code TMS_TU_LEASE}. A lease is taken over with one conditional
+ * update in its own transaction, either when it is expired or already owned by this instance. Only a take over from another instance
+ * increments the fencing token. Right before the deciding transaction commits, the lease is extended only if the token is still the
+ * same, otherwise the transaction is rolled back. After completion the lease is released.
+ * <p>
+ * A lease is held by exactly one transaction. The transaction that holds it may acquire it again, any other transaction, also one of
+ * this instance, is rejected immediately instead of waiting for the lease.
+ * <p>
+ * The lease expiry is based on the clocks of the instances, so these must not drift apart by more than a fraction of the TTL.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.leases.enabled", havingValue = "true")
+@TxService
+class TransportUnitLeasesImpl implements TransportUnitLeases {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportUnitLeasesImpl.class);
+    private final TransportUnitLeaseRepository repository;
+    private final TransactionTemplate requiresNew;
+    private final String owner;
+    private final Duration ttl;
+    /** The leases held by the transactions of this instance, mapped to the transaction bound map of the holder. */
+    private final Map<String, Map<String, Long>> holders = new ConcurrentHashMap<>();
+
+    TransportUnitLeasesImpl(TransportUnitLeaseRepository repository, PlatformTransactionManager transactionManager,
+            @Value("${owms.tms.leases.owner:}") String owner,
+            @Value("${owms.tms.leases.ttl:PT30S}") Duration ttl) {
+        this.repository = repository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = owner == null || owner.isEmpty() ? UUID.randomUUID().toString() : owner;
+        this.ttl = ttl;
+        LOGGER.info("Coordinate start decisions with TransportUnit leases as owner [{}]", this.owner);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException If no transaction is active
+     */
+    @Override
+    @Measured
+    public long acquire(String transportUnitBK) {
+        var held = heldLeases();
+        var token = held.get(transportUnitBK);
+        if (token != null) {
+            return token;
+        }
+        if (holders.putIfAbsent(transportUnitBK, held) != null) {
+            throw new StateChangeException(format("The TransportUnit [%s] is leased by another transaction", transportUnitBK));
+        }
+        try {
+            token = tryAcquire(transportUnitBK);
+        } catch (RuntimeException e) {
+            holders.remove(transportUnitBK, held);
+            throw e;
+        }
+        if (token == null) {
+            holders.remove(transportUnitBK, held);
+            throw new StateChangeException(format("The TransportUnit [%s] is leased by another instance", transportUnitBK));
+        }
+        held.put(transportUnitBK, token);
+        TransactionSynchronizationManager.registerSynchronization(new Fencing(transportUnitBK, token, held));
+        return token;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The leases are acquired in a stable order.
+     */
+    @Override
+    @Measured
+    public Set<String> acquireAll(Collection<String> transportUnitBKs) {
+        var rejected = new TreeSet<String>();
+        for (var transportUnitBK : new TreeSet<>(transportUnitBKs)) {
+            try {
+                acquire(transportUnitBK);
+            } catch (StateChangeException sce) {
+                LOGGER.warn(sce.getMessage());
+                rejected.add(transportUnitBK);
+            }
+        }
+        return rejected;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> heldLeases() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A TransportUnit lease can only be acquired within a transaction");
+        }
+        var held = (Map<String, Long>) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            held = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, held);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransportUnitLeasesImpl.this);
+                }
+            });
+        }
+        return held;
+    }
+
+    private Long tryAcquire(String transportUnitBK) {
+        var now = LocalDateTime.now();
+        var token = requiresNew.execute(status ->
+                repository.takeOver(transportUnitBK, owner, now.plus(ttl), now) == 1
+                        ? repository.findToken(transportUnitBK, owner).orElse(null)
+                        : null
+        );
+        if (token != null) {
+            return token;
+        }
+        try {
+            return requiresNew.execute(status -> repository.existsById(transportUnitBK)
+                    ? null
+                    : repository.insert(transportUnitBK, owner, now.plus(ttl)) == 1 ? 1L : null
+            );
+        } catch (DataIntegrityViolationException dive) {
+            LOGGER.debug("Lease of TransportUnit [{}] has just been created by another instance", transportUnitBK);
+            return null;
+        }
+    }
+
+    private class Fencing implements TransactionSynchronization {
+
+        private final String transportUnitBK;
+        private final long token;
+        private final Map<String, Long> held;
+
+        private Fencing(String transportUnitBK, long token, Map<String, Long> held) {
+            this.transportUnitBK = transportUnitBK;
+            this.token = token;
+            this.held = held;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (repository.extend(transportUnitBK, owner, token, LocalDateTime.now().plus(ttl)) != 1) {
+                throw new StateChangeException(format("The lease of TransportUnit [%s] with token [%d] has been lost", transportUnitBK, token));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                requiresNew.executeWithoutResult(s -> repository.extend(transportUnitBK, owner, token, LocalDateTime.now()));
+            } catch (Exception e) {
+                LOGGER.warn("Could not release the lease of TransportUnit [{}], it expires after [{}]. Message: [{}]", transportUnitBK, ttl, e.getMessage());
+            } finally {
+                holders.remove(transportUnitBK, held);
+            }
+        }
+    }
+}
@@ -22,6 +22,8 @@ import org.openwms.tms.Message;
 import org.openwms.tms.StateChangeException;
 import org.openwms.tms.StateManager;
 import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.impl.TransportOrderCacheInvalidator;
 import org.openwms.tms.impl.TransportOrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,10 +33,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 import static org.openwms.tms.TransportOrderState.CANCELED;
 import static org.openwms.tms.TransportOrderState.CREATED;
 import static org.openwms.tms.TransportOrderState.FINISHED;
@@ -56,10 +62,12 @@ class TransportUnitRemovalHandler {
     private final ApplicationContext ctx;
     private final List<String> blockStates;
     private final StateManager stateManager;
+    private final TransportOrderCacheInvalidator cacheInvalidator;
 
     TransportUnitRemovalHandler(TransportOrderRepository<TransportOrder, Long> repository,
             ApplicationContext ctx,
-            @Value("${owms.tms.block-tu-deletion-states}") String cancelStartedTO, StateManager stateManager) {
+            @Value("${owms.tms.block-tu-deletion-states}") String cancelStartedTO, StateManager stateManager,
+            TransportOrderCacheInvalidator cacheInvalidator) {
         this.repository = repository;
         this.ctx = ctx;
         this.blockStates = cancelStartedTO == null ?
@@ -69,6 +77,7 @@ class TransportUnitRemovalHandler {
                         .map(String::trim)
                         .toList();
         this.stateManager = stateManager;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Transactional
@@ -80,10 +89,22 @@ class TransportUnitRemovalHandler {
                     command.getTransportUnit().getpKey());
         }
         try {
-            checkForStarted(command);
-            cancelInitializedOrders(command);
-            unlinkFinishedOrders(command);
-            unlinkCanceledOrders(command);
+            var transportOrders = repository.findByTransportUnitBKAndStates(
+                    command.getTransportUnit().getBarcode(),
+                    CREATED,
+                    INITIALIZED,
+                    STARTED,
+                    FINISHED,
+                    ONFAILURE,
+                    CANCELED
+            ).stream().collect(groupingBy(TransportOrder::getState, () -> new EnumMap<>(TransportOrderState.class), toList()));
+            checkForBlocked(transportOrders);
+            cancelStartedOrders(transportOrders);
+            cancelInitializedOrders(transportOrders);
+            unlinkFinishedOrders(command, transportOrders);
+            unlinkCanceledOrders(command, transportOrders);
+            // All changes are written with one batched flush, before the TransportUnit is finally removed
+            repository.flush();
             command.setType(TUCommand.Type.REMOVE);
             ctx.publishEvent(command);
         } catch (IllegalStateException ise) {
@@ -91,31 +112,49 @@ class TransportUnitRemovalHandler {
         }
     }
 
-    protected void checkForStarted(TUCommand command) {
-        var transportOrders = repository.findByTransportUnitBKAndStates(
-                command.getTransportUnit().getBarcode(),
-                STARTED
-        );
+    private static List<TransportOrder> inStates(Map<TransportOrderState, List<TransportOrder>> transportOrders, TransportOrderState... states) {
+        return Stream.of(states)
+                .flatMap(s -> transportOrders.getOrDefault(s, Collections.emptyList()).stream())
+                .toList();
+    }
 
+    private void checkForBlocked(Map<TransportOrderState, List<TransportOrder>> transportOrders) {
         if (blockStates.contains(STARTED.toString()) &&
-                !transportOrders.isEmpty()) {
+                !inStates(transportOrders, STARTED).isEmpty()) {
 
             throw new IllegalStateException("STARTED TransportOrders exist, removal not allowed");
         }
-        if (transportOrders.isEmpty()) {
+        if ((blockStates.contains(INITIALIZED.toString()) ||
+                (blockStates.contains(CREATED.toString()))) &&
+                !inStates(transportOrders, CREATED, INITIALIZED).isEmpty()) {
+
+            throw new IllegalStateException("CREATED or INITIALIZED TransportOrders exist, removal not allowed");
+        }
+        if ((blockStates.contains(FINISHED.toString()) ||
+                (blockStates.contains(ONFAILURE.toString()))) &&
+                !inStates(transportOrders, FINISHED, ONFAILURE).isEmpty()) {
+
+            throw new IllegalStateException("FINISHED or ONFAILURE TransportOrders exist, removal not allowed");
+        }
+    }
+
+    private void cancelStartedOrders(Map<TransportOrderState, List<TransportOrder>> transportOrders) {
+        var started = inStates(transportOrders, STARTED);
+        if (started.isEmpty()) {
 
             LOGGER.debug("No STARTED TransportOrders found");
         } else {
 
-            transportOrders.forEach(this::cancel);
+            started.forEach(this::cancel);
         }
     }
 
     private void cancel(TransportOrder transportOrder) {
         try {
             transportOrder.changeState(stateManager, CANCELED);
+            cacheInvalidator.invalidateAfterCommit(transportOrder.getPersistentKey());
             var barcode = transportOrder.getTransportUnitBK();
-            setProblem(transportOrder,
+            transportOrder.setProblem(
                     new Message.Builder()
                             .messageText(format("TransportUnit with ID [%s] was deleted and Transport Order canceled", barcode))
                             .build()
@@ -129,58 +168,29 @@ class TransportUnitRemovalHandler {
                             .messageText(sce.getMessage())
                             .build()
             );
-        } finally {
-            repository.save(transportOrder);
         }
     }
 
-    private void setProblem(TransportOrder transportOrder, Message problem) {
-        transportOrder.setProblem(problem);
-        repository.save(transportOrder);
-    }
-
-    protected void cancelInitializedOrders(TUCommand command) {
-        var transportOrders = repository.findByTransportUnitBKAndStates(
-                command.getTransportUnit().getBarcode(),
-                CREATED,
-                INITIALIZED
-        );
-
-        if ((blockStates.contains(INITIALIZED.toString()) ||
-                (blockStates.contains(CREATED.toString()))) &&
-                !transportOrders.isEmpty()) {
-
-            throw new IllegalStateException("CREATED or INITIALIZED TransportOrders exist, removal not allowed");
-        }
-        if (transportOrders.isEmpty()) {
+    private void cancelInitializedOrders(Map<TransportOrderState, List<TransportOrder>> transportOrders) {
+        var initialized = inStates(transportOrders, CREATED, INITIALIZED);
+        if (initialized.isEmpty()) {
 
             LOGGER.debug("No CREATED or INITIALIZED TransportOrders found");
         } else {
 
-            transportOrders.forEach(this::cancel);
+            initialized.forEach(this::cancel);
         }
     }
 
-    protected void unlinkFinishedOrders(TUCommand command) {
-        var transportOrders = repository.findByTransportUnitBKAndStates(
-                command.getTransportUnit().getBarcode(),
-                FINISHED,
-                ONFAILURE
-        );
-
-        if ((blockStates.contains(FINISHED.toString()) ||
-                (blockStates.contains(ONFAILURE.toString()))) &&
-                !transportOrders.isEmpty()) {
-
-            throw new IllegalStateException("FINISHED or ONFAILURE TransportOrders exist, removal not allowed");
-        }
-        if (transportOrders.isEmpty()) {
+    private void unlinkFinishedOrders(TUCommand command, Map<TransportOrderState, List<TransportOrder>> transportOrders) {
+        var finished = inStates(transportOrders, FINISHED, ONFAILURE);
+        if (finished.isEmpty()) {
 
             LOGGER.debug("No FINISHED and ONFAILURE TransportOrders found to unlink");
         } else {
 
-            transportOrders.forEach(to -> {
-                setProblem(to,
+            finished.forEach(to -> {
+                to.setProblem(
                         new Message.Builder()
                                 .messageText(
                                         format("TransportUnit with barcode [%s] was removed and TransportOrder unlinked",
@@ -196,18 +206,16 @@ class TransportUnitRemovalHandler {
         }
     }
 
-    protected void unlinkCanceledOrders(TUCommand command) {
-        var transportOrders = repository.findByTransportUnitBKAndStates(
-                command.getTransportUnit().getBarcode(),
-                CANCELED
-        );
-        if (transportOrders.isEmpty()) {
+    private void unlinkCanceledOrders(TUCommand command, Map<TransportOrderState, List<TransportOrder>> transportOrders) {
+        // Only orders that have been CANCELED before, the ones canceled right now carry their own problem already
+        var canceled = inStates(transportOrders, CANCELED);
+        if (canceled.isEmpty()) {
 
             LOGGER.debug("No CANCELED TransportOrders found to unlink");
         } else {
 
-            transportOrders.forEach(to -> {
-                setProblem(to,
+            canceled.forEach(to -> {
+                to.setProblem(
                         new Message.Builder()
                                 .messageText(format("TransportUnit with barcode [%s] was removed and TransportOrder unlinked",
                                         command.getTransportUnit().getBarcode()))
@@ -218,4 +226,4 @@ class TransportUnitRemovalHandler {
             });
         }
     }
-}
\ No newline at end of file
+}
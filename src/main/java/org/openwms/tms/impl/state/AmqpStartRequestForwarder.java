@@ -15,17 +15,32 @@
  */
 package org.openwms.tms.impl.state;
 
+import jakarta.annotation.PreDestroy;
 import org.ameba.annotation.Measured;
 import org.openwms.core.SpringProfiles;
 import org.openwms.tms.TransportOrderState;
 import org.openwms.tms.api.requests.state.StateChangeRequest;
+import org.openwms.tms.api.requests.state.StateChangeRequests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 /**
  * An AmqpStartRequestForwarder requests a remote service instance via an AMQP command whether a TransportOrder might be started or not.
+ * <p>
+ * With a batch size greater than one, requests are buffered and sent as one {@link StateChangeRequests} message as soon as the batch is
+ * full or the window since the first buffered request has elapsed.
  *
  * @author Heiko Scherrer
  */
@@ -33,12 +48,28 @@ import org.springframework.stereotype.Component;
 @Component
 class AmqpStartRequestForwarder implements ExternalStarter {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AmqpStartRequestForwarder.class);
     private final String exchangeName;
     private final AmqpTemplate amqpTemplate;
+    private final PendingStartRequests pendingStartRequests;
+    private final int batchSize;
+    private final Duration window;
+    private final List<String> buffer = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> pending;
 
-    AmqpStartRequestForwarder(@Value("${owms.requests.tms.to.exchange-name}") String exchangeName, AmqpTemplate amqpTemplate) {
+    AmqpStartRequestForwarder(@Value("${owms.requests.tms.to.exchange-name}") String exchangeName, AmqpTemplate amqpTemplate,
+            PendingStartRequests pendingStartRequests,
+            @Value("${owms.requests.tms.to.batch.size:1}") int batchSize,
+            @Value("${owms.requests.tms.to.batch.window:PT0.05S}") Duration window) {
         this.exchangeName = exchangeName;
         this.amqpTemplate = amqpTemplate;
+        this.pendingStartRequests = pendingStartRequests;
+        this.batchSize = batchSize;
+        this.window = window;
+        this.scheduler = batchSize > 1
+                ? Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("tms-start-requests").daemon().factory())
+                : null;
     }
 
     /**
@@ -47,10 +78,72 @@ class AmqpStartRequestForwarder implements ExternalStarter {
     @Override
     @Measured
     public void request(String pKey) {
+        pendingStartRequests.track(pKey);
+        if (scheduler == null) {
+            amqpTemplate.convertAndSend(
+                    exchangeName,
+                    "request.state.change",
+                    new StateChangeRequest(pKey, TransportOrderState.STARTED.name())
+            );
+            return;
+        }
+        List<String> full = null;
+        synchronized (buffer) {
+            buffer.add(pKey);
+            if (buffer.size() >= batchSize) {
+                full = drain();
+            } else if (pending == null) {
+                pending = scheduler.schedule(this::flush, window.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+    }
+
+    /**
+     * Send all buffered requests.
+     */
+    void flush() {
+        List<String> pKeys;
+        synchronized (buffer) {
+            pKeys = drain();
+        }
+        if (!pKeys.isEmpty()) {
+            try {
+                send(pKeys);
+            } catch (Exception e) {
+                LOGGER.error("Could not send start requests for TransportOrders [{}]. Message: [{}]", pKeys, e.getMessage());
+            }
+        }
+    }
+
+    private List<String> drain() {
+        var pKeys = List.copyOf(buffer);
+        buffer.clear();
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        return pKeys;
+    }
+
+    private void send(List<String> pKeys) {
         amqpTemplate.convertAndSend(
                 exchangeName,
-                "request.state.change",
-                new StateChangeRequest(pKey, TransportOrderState.STARTED.name())
+                "request.state.changes",
+                new StateChangeRequests(pKeys.stream()
+                        .map(pKey -> new StateChangeRequest(pKey, TransportOrderState.STARTED.name()))
+                        .toList())
         );
+        LOGGER.debug("Sent [{}] start requests in one message", pKeys.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            flush();
+            scheduler.shutdownNow();
+        }
     }
 }
@@ -24,15 +24,30 @@ import org.openwms.tms.TransportOrder;
 import org.openwms.tms.TransportOrderState;
 import org.openwms.tms.TransportationService;
 import org.openwms.tms.api.requests.state.StateChangeResponse;
+import org.openwms.tms.api.requests.state.StateChangeResponses;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static java.lang.String.format;
 
 /**
  * An AmqpStateListener listens on a start response from remote services as a reply to a former start request, validates the response and
  * delegates to the {@link Startable} instance for final starting of the {@code TransportOrder}.
+ * <p>
+ * Batched {@link StateChangeResponses} are applied in one transaction, the outcome of each single response is logged.
  *
  * @author Heiko Scherrer
  */
@@ -40,12 +55,21 @@ import static java.lang.String.format;
 @Component
 class AmqpStateListener {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AmqpStateListener.class);
     private final Startable starter;
     private final TransportationService<TransportOrder> service;
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+    private final TransactionTemplate txTemplate;
+    private final PendingStartRequests pendingStartRequests;
 
-    AmqpStateListener(Startable starter, TransportationService<TransportOrder> service) {
+    AmqpStateListener(Startable starter, TransportationService<TransportOrder> service,
+            TransportOrderRepository<TransportOrder, Long> repository, PlatformTransactionManager transactionManager,
+            PendingStartRequests pendingStartRequests) {
         this.starter = starter;
         this.service = service;
+        this.repository = repository;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.pendingStartRequests = pendingStartRequests;
     }
 
     /**
@@ -61,7 +85,6 @@ class AmqpStateListener {
             if (!response.hasRequest()) {
                 throw new ServiceLayerException(format("Got a response that is assigned to a request: [%s]", response));
             }
-
             if (response.hasError()) {
                 var to = service.findByPKey(response.getRequest().getTransportOrderPkey());
                 to.setProblem(new Message.Builder()
@@ -69,6 +92,7 @@ class AmqpStateListener {
                         .occurred(response.getError().getOccurred())
                         .build());
                 service.update(to);
+                pendingStartRequests.answered(response.getRequest().getTransportOrderPkey());
                 return;
             }
 
@@ -78,11 +102,83 @@ class AmqpStateListener {
                 // Okay the one and only voter accepted to start the TO. We could also have more than one voter but then the implementation
                 // needs to be adjusted.
                 this.starter.start(response.getRequest().getTransportOrderPkey());
+                pendingStartRequests.answered(response.getRequest().getTransportOrderPkey());
             } else {
                 throw new ServiceLayerException(format("Got a StateChangeResponse that is not supported: [%s]", response));
             }
         } catch (StateChangeException sce) {
             // fine here
+            pendingStartRequests.answered(response.getRequest().getTransportOrderPkey());
+        }
+    }
+
+    /**
+     * Listen on batched {@link StateChangeResponses} and apply all of them in one transaction. If that transaction fails, each response
+     * is applied in its own transaction, so that one failing response does not discard the others. A response is only considered as
+     * answered after its transaction has been committed, otherwise the start request is repeated when it expires.
+     *
+     * @param responses The batched responses
+     */
+    @Measured
+    @RabbitListener(queues = "${owms.requests.tms.to.batch-queue-name}")
+    public void onResponses(StateChangeResponses responses) {
+        Map<String, String> failures;
+        try {
+            failures = txTemplate.execute(status -> apply(responses.getResponses()));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Applying [{}] StateChangeResponses in one transaction failed with [{}], apply them one by one",
+                    responses.getResponses().size(), e.getMessage());
+            failures = new LinkedHashMap<>();
+            for (var response : responses.getResponses()) {
+                try {
+                    failures.putAll(txTemplate.execute(status -> apply(List.of(response))));
+                } catch (RuntimeException re) {
+                    failures.put(response.hasRequest() ? response.getRequest().getTransportOrderPkey() : String.valueOf(response), re.getMessage());
+                }
+            }
+        }
+        LOGGER.info("Applied [{}] StateChangeResponses, [{}] of them not successful", responses.getResponses().size(), failures.size());
+        failures.forEach((pKey, reason) -> LOGGER.warn("Could not apply StateChangeResponse for TransportOrder [{}]: [{}]", pKey, reason));
+    }
+
+    private Map<String, String> apply(List<StateChangeResponse> responses) {
+        var failures = new LinkedHashMap<String, String>();
+        var accepted = new ArrayList<String>(responses.size());
+        var answered = new ArrayList<String>(responses.size());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                answered.forEach(pendingStartRequests::answered);
+            }
+        });
+        for (var response : responses) {
+            if (!response.hasRequest()) {
+                LOGGER.warn("Got a response that is not assigned to a request: [{}]", response);
+                continue;
+            }
+            var pKey = response.getRequest().getTransportOrderPkey();
+            answered.add(pKey);
+            if (response.hasError()) {
+                var to = repository.findBypKey(pKey);
+                if (to.isEmpty()) {
+                    failures.put(pKey, format("No TransportOrder with pKey [%s] found", pKey));
+                    continue;
+                }
+                to.get().setProblem(new Message.Builder()
+                        .messageText(response.getError().getMessageText())
+                        .occurred(response.getError().getOccurred())
+                        .build());
+                service.update(to.get());
+                failures.put(pKey, response.getError().getMessageText());
+            } else if (TransportOrderState.STARTED.name().equals(response.getAcceptedState())) {
+                accepted.add(pKey);
+            } else {
+                failures.put(pKey, format("Got a StateChangeResponse that is not supported: [%s]", response.getAcceptedState()));
+            }
+        }
+        if (!accepted.isEmpty()) {
+            failures.putAll(starter.startAll(accepted));
         }
+        return failures;
     }
 }
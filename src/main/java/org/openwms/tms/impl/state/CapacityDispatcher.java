@@ -0,0 +1,214 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ameba.annotation.Measured;
+import org.openwms.tms.StateChangeException;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * A CapacityDispatcher limits the number of STARTED {@link TransportOrder}s per target {@code Location} or {@code LocationGroup}.
+ * <p>
+ * The limits are configured with {@code owms.tms.capacity.limits} as comma separated list of {@code target=limit} pairs. A
+ * {@link TransportOrder} to a target at its limit is not started but stays INITIALIZED. As soon as an order to that target finishes, is
+ * canceled, fails or is interrupted, the held back orders are started in the order of their priority. A periodic sweep iterates over
+ * all targets in turns and starts held back orders that missed their release, so that no target is preferred.
+ * <p>
+ * Starts to the same target are serialized across all service instances by a {@link TargetLock} that is held until the starting
+ * transaction completes. Starts to other targets are not affected. The number of STARTED orders is counted in the database after the
+ * lock has been granted, so it includes all committed starts and the ones of the current transaction.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty("owms.tms.capacity.limits")
+@Component
+class CapacityDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CapacityDispatcher.class);
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+    private final Startable startable;
+    private final TargetLocks targetLocks;
+    private final TransactionTemplate requiresNew;
+    private final Map<String, Integer> limits;
+    private final Map<String, AtomicInteger> started = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> held = new ConcurrentHashMap<>();
+    private final Counter startedDecisions;
+    private final Counter heldDecisions;
+    private final AtomicInteger turn = new AtomicInteger();
+
+    CapacityDispatcher(TransportOrderRepository<TransportOrder, Long> repository, @Lazy Startable startable, TargetLocks targetLocks,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${owms.tms.capacity.limits}") String limits) {
+        this.repository = repository;
+        this.startable = startable;
+        this.targetLocks = targetLocks;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.limits = parse(limits);
+        this.startedDecisions = Counter.builder("owms.tms.dispatcher.decisions")
+                .description("Number of start requests to limited targets")
+                .tag("outcome", "started")
+                .register(meterRegistry);
+        this.heldDecisions = Counter.builder("owms.tms.dispatcher.decisions")
+                .description("Number of start requests to limited targets")
+                .tag("outcome", "held")
+                .register(meterRegistry);
+        this.limits.keySet().forEach(target -> {
+            Gauge.builder("owms.tms.dispatcher.held", held.computeIfAbsent(target, k -> new AtomicInteger()), AtomicInteger::get)
+                    .description("Number of INITIALIZED TransportOrders to the target")
+                    .tag("target", target)
+                    .register(meterRegistry);
+            Gauge.builder("owms.tms.dispatcher.started", started.computeIfAbsent(target, k -> new AtomicInteger()), AtomicInteger::get)
+                    .description("Number of STARTED TransportOrders to the target")
+                    .tag("target", target)
+                    .register(meterRegistry);
+        });
+        LOGGER.info("Limit the STARTED TransportOrders per target to [{}]", this.limits);
+    }
+
+    private static Map<String, Integer> parse(String limits) {
+        var result = new LinkedHashMap<String, Integer>();
+        for (var pair : limits.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            var idx = pair.lastIndexOf('=');
+            if (idx < 1) {
+                throw new IllegalArgumentException(format("The capacity limit [%s] must be defined as target=limit", pair));
+            }
+            result.put(pair.substring(0, idx).trim(), Integer.parseInt(pair.substring(idx + 1).trim()));
+        }
+        return result;
+    }
+
+    /**
+     * Check whether the {@code transportOrder} may be started regarding the limits of its targets. The targets stay locked until the
+     * current transaction completes.
+     *
+     * @param transportOrder The TransportOrder to start, with its final targets
+     * @throws StateChangeException If one of the targets is at its limit
+     */
+    void acquire(TransportOrder transportOrder) {
+        var targets = limitedTargetsOf(transportOrder);
+        if (targets.isEmpty()) {
+            return;
+        }
+        targetLocks.lock(targets);
+        for (var target : targets) {
+            if (startedTo(target) >= limits.get(target)) {
+                heldDecisions.increment();
+                throw new StateChangeException(format("Cannot start the TransportOrder because the target [%s] is at its capacity of [%d]",
+                        target, limits.get(target)));
+            }
+        }
+        startedDecisions.increment();
+    }
+
+    /**
+     * Release held back orders once a {@link TransportOrder} to a limited target has left the STARTED state.
+     *
+     * @param event Carries the changed TransportOrder
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(TransportServiceEvent event) {
+        switch (event.getType()) {
+            case TRANSPORT_FINISHED, TRANSPORT_CANCELED, TRANSPORT_ONFAILURE, TRANSPORT_INTERRUPTED ->
+                    limitedTargetsOf(event.getSource()).forEach(this::dispatch);
+            default -> {
+                // nothing released
+            }
+        }
+    }
+
+    /**
+     * Visit all limited targets, starting with a different one on each run, and start held back orders as long as there is capacity.
+     */
+    @Measured
+    @Scheduled(initialDelayString = "${owms.tms.capacity.sweep-interval:PT10S}", fixedDelayString = "${owms.tms.capacity.sweep-interval:PT10S}")
+    public void sweep() {
+        var targets = new ArrayList<>(limits.keySet());
+        if (targets.isEmpty()) {
+            return;
+        }
+        var offset = Math.floorMod(turn.getAndIncrement(), targets.size());
+        for (var i = 0; i < targets.size(); i++) {
+            var target = targets.get((offset + i) % targets.size());
+            dispatch(target);
+            held.get(target).set(repository.countByTargetLocationAndStates(target, TransportOrderState.INITIALIZED)
+                    + repository.countByTargetLocationGroupAndStates(target, TransportOrderState.INITIALIZED));
+        }
+    }
+
+    private void dispatch(String target) {
+        var free = limits.get(target) - startedTo(target);
+        if (free <= 0) {
+            return;
+        }
+        // Some candidates may not be startable, because their TransportUnit has already a STARTED one, the excess is held back again
+        var candidates = repository.findNextToTarget(target, TransportOrderState.INITIALIZED, free * 2);
+        if (candidates.isEmpty()) {
+            return;
+        }
+        var failures = requiresNew.execute(status -> startable.startAll(candidates));
+        if (LOGGER.isDebugEnabled() && failures != null && !failures.isEmpty()) {
+            LOGGER.debug("Held back TransportOrders to [{}] not started: [{}]", target, failures);
+        }
+    }
+
+    private List<String> limitedTargetsOf(TransportOrder transportOrder) {
+        var result = new ArrayList<String>(2);
+        if (transportOrder.getTargetLocation() != null && limits.containsKey(transportOrder.getTargetLocation())) {
+            result.add(transportOrder.getTargetLocation());
+        }
+        if (transportOrder.getTargetLocationGroup() != null && limits.containsKey(transportOrder.getTargetLocationGroup())) {
+            result.add(transportOrder.getTargetLocationGroup());
+        }
+        return result;
+    }
+
+    private int startedTo(String target) {
+        var count = repository.countByTargetLocationAndStates(target, TransportOrderState.STARTED)
+                + repository.countByTargetLocationGroupAndStates(target, TransportOrderState.STARTED);
+        started.get(target).set(count);
+        return count;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.ameba.i18n.Translator;
+import org.openwms.tms.StateChangeException;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static org.openwms.tms.TMSMessageCodes.INITIALIZATION_NOT_ALLOWED;
+import static org.openwms.tms.TransportOrderState.CREATED;
+
+/**
+ * An InitializationGuard allows a CREATED {@link TransportOrder} to leave this state only if it has a {@code TransportUnit} and a target.
+ *
+ * @author Heiko Scherrer
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+class InitializationGuard implements TransitionGuard {
+
+    private final Translator translator;
+
+    InitializationGuard(Translator translator) {
+        this.translator = translator;
+    }
+
+    @Override
+    public boolean supports(TransportOrderState currentState, TransportOrderState newState) {
+        return currentState == CREATED;
+    }
+
+    @Override
+    public void check(TransportOrderState newState, TransportOrder transportOrder) {
+        if (!transportOrder.hasTransportUnitBK() || !transportOrder.hasTargetLocation() && !transportOrder.hasTargetLocationGroup()) {
+            throw new StateChangeException(translator,
+                    INITIALIZATION_NOT_ALLOWED,
+                    transportOrder.getTransportUnitBK(),
+                    transportOrder.getTargetLocation(),
+                    transportOrder.getTargetLocationGroup());
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.openwms.tms.impl.state;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.ameba.annotation.TxService;
 import org.ameba.exception.NotFoundException;
 import org.openwms.common.transport.api.TransportUnitApi;
@@ -26,15 +28,21 @@ import org.openwms.tms.TransportServiceEvent;
 import org.openwms.tms.impl.TransportOrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.event.EventListener;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+
 import static org.springframework.transaction.annotation.Propagation.REQUIRED;
 
 /**
- * A Initializer.
+ * A Initializer initializes all CREATED {@link TransportOrder}s of a TransportUnit. The actual location of the TransportUnit is looked up
+ * only once for all of them, optionally a short-lived cache shares the looked up locations between subsequent initializations.
  *
  * @author Heiko Scherrer
  */
@@ -46,12 +54,21 @@ class Initializer {
     private final TransportUnitApi transportUnitApi;
     private final StateManager stateManager;
     private final ApplicationContext ctx;
+    private final LifecycleLanes lifecycleLanes;
+    private final Cache<String, String> actualLocations;
 
-    Initializer(TransportOrderRepository<TransportOrder, Long> repository, TransportUnitApi transportUnitApi, StateManager stateManager, ApplicationContext ctx) {
+    Initializer(TransportOrderRepository<TransportOrder, Long> repository, TransportUnitApi transportUnitApi, StateManager stateManager, ApplicationContext ctx,
+            @Autowired(required = false) LifecycleLanes lifecycleLanes,
+            @Value("${owms.tms.initializer.location-cache.ttl:PT0S}") Duration locationCacheTtl,
+            @Value("${owms.tms.initializer.location-cache.max-size:10000}") long locationCacheMaxSize) {
         this.repository = repository;
         this.transportUnitApi = transportUnitApi;
         this.stateManager = stateManager;
         this.ctx = ctx;
+        this.lifecycleLanes = lifecycleLanes;
+        this.actualLocations = locationCacheTtl.isZero()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(locationCacheTtl).maximumSize(locationCacheMaxSize).build();
     }
 
     /**
@@ -62,23 +79,50 @@ class Initializer {
     @EventListener
     @Transactional(propagation = REQUIRED, noRollbackFor = StateChangeException.class)
     public void onEvent(final TransportServiceEvent event) {
+        if (lifecycleLanes == null) {
+            initialize(event);
+        }
+    }
+
+    /**
+     * Handle an event after its transaction has been committed, when the lifecycle is processed on {@link LifecycleLanes}.
+     *
+     * @param deferred the committed event to respond to
+     */
+    @EventListener
+    @Transactional(propagation = REQUIRED, noRollbackFor = StateChangeException.class)
+    public void onDeferred(final LifecycleLanes.Deferred deferred) {
+        initialize(deferred.event());
+    }
+
+    private void initialize(TransportServiceEvent event) {
         if (event.getType() == TransportServiceEvent.TYPE.TRANSPORT_CREATED) {
             var to = repository.findById(event.getSource().getPk()).orElseThrow(NotFoundException::new);
+            // Already sorted by priority in the database
             var transportOrders = repository.findByTransportUnitBKAndStates(to.getTransportUnitBK(), TransportOrderState.CREATED);
-            transportOrders.sort(new TransportStartComparator());
+            var initialized = new ArrayList<TransportOrder>(transportOrders.size());
+            // All orders belong to the same TransportUnit, so its actual location is looked up once on demand
+            String sourceLocation = null;
             for (var transportOrder : transportOrders) {
                 try {
-                    transportOrder
-                            .changeState(stateManager, TransportOrderState.INITIALIZED)
-                            .setSourceLocation(
-                                    transportUnitApi.findTransportUnit(transportOrder.getTransportUnitBK()).getActualLocation().getLocationId()
-                            );
-                    transportOrder = repository.save(transportOrder);
+                    transportOrder.changeState(stateManager, TransportOrderState.INITIALIZED);
+                    if (sourceLocation == null) {
+                        sourceLocation = actualLocationOf(transportOrder.getTransportUnitBK());
+                    }
+                    transportOrder.setSourceLocation(sourceLocation);
+                    initialized.add(transportOrder);
                     LOGGER.debug("TransportOrder with pKey [{}] INITIALIZED", transportOrder.getPersistentKey());
                 } catch (StateChangeException sce) {
                     LOGGER.warn("Could not initialize TransportOrder with pKey [{}]. Message: [{}]", transportOrder.getPersistentKey(), sce.getMessage());
-                    continue;
                 }
+            }
+            if (initialized.isEmpty()) {
+                return;
+            }
+            // Write all initialized orders in one batch before any listener starts to process them
+            repository.saveAll(initialized);
+            repository.flush();
+            for (var transportOrder : initialized) {
                 try {
                     ctx.publishEvent(new TransportServiceEvent(transportOrder, TransportServiceEvent.TYPE.INITIALIZED));
                 } catch (StateChangeException sce) {
@@ -87,4 +131,15 @@ class Initializer {
             }
         }
     }
+
+    private String actualLocationOf(String transportUnitBK) {
+        if (actualLocations == null) {
+            return findActualLocation(transportUnitBK);
+        }
+        return actualLocations.get(transportUnitBK, this::findActualLocation);
+    }
+
+    private String findActualLocation(String transportUnitBK) {
+        return transportUnitApi.findTransportUnit(transportUnitBK).getActualLocation().getLocationId();
+    }
 }
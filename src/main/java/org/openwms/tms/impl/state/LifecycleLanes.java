@@ -0,0 +1,289 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import feign.RetryableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.ameba.annotation.Measured;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A LifecycleLanes pipeline runs the initialization and the start of {@code TransportOrder}s after the transaction that triggered them
+ * has been committed, on a fixed number of lanes instead of the calling thread.
+ * <p>
+ * All events of one {@code TransportUnit} are processed on the same lane in the order they have been committed. When too many events
+ * are waiting, events of threads that are not lanes themselves are rejected without blocking the committing thread, events raised on a
+ * lane are always accepted. Transient failures, like lock conflicts or unavailable remote services, are retried with an exponential
+ * backoff. The {@link Initializer} and the {@link StartListener} only process the {@link Deferred} events published on the lanes, as
+ * long as this pipeline is enabled.
+ * <p>
+ * Rejected events and events that are still waiting when the service stops or crashes are lost. A periodic recovery finds the
+ * {@code TransportUnit}s with CREATED orders, or with INITIALIZED orders but without a STARTED one, in the database. Those that are
+ * found in two consecutive runs are submitted again.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.lifecycle.async.enabled", havingValue = "true")
+@Component
+class LifecycleLanes {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LifecycleLanes.class);
+    private static final ThreadLocal<Boolean> ON_LANE = ThreadLocal.withInitial(() -> false);
+    private final ApplicationEventPublisher publisher;
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+    private final List<Lane> lanes;
+    private final Semaphore capacity;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Map<Stage, AtomicInteger> queued = new EnumMap<>(Stage.class);
+    private final Map<Stage, Timer> lag = new EnumMap<>(Stage.class);
+    private final Counter retries;
+    private final Counter failures;
+    private final Counter rejected;
+    private final Counter recovered;
+    private final int recoveryBatch;
+    private Set<String> waitingToInitialize = Set.of();
+    private Set<String> waitingToStart = Set.of();
+
+    /**
+     * The processing stages of the pipeline.
+     */
+    enum Stage {
+        /** Initialize a created TransportOrder. */
+        INITIALIZE,
+        /** Start an initialized TransportOrder or the next one of the TransportUnit. */
+        START
+    }
+
+    /**
+     * Wraps a committed {@link TransportServiceEvent} while it is processed on a lane.
+     *
+     * @param event The committed event
+     */
+    record Deferred(TransportServiceEvent event) {
+    }
+
+    private record Task(Stage stage, TransportServiceEvent event, long enqueued, boolean permit) {
+    }
+
+    LifecycleLanes(ApplicationEventPublisher publisher, MeterRegistry meterRegistry,
+            TransportOrderRepository<TransportOrder, Long> repository,
+            @Value("${owms.tms.lifecycle.async.lanes:4}") int lanes,
+            @Value("${owms.tms.lifecycle.async.capacity:1000}") int capacity,
+            @Value("${owms.tms.lifecycle.async.max-attempts:3}") int maxAttempts,
+            @Value("${owms.tms.lifecycle.async.backoff:PT0.2S}") Duration backoff,
+            @Value("${owms.tms.lifecycle.async.virtual-threads:false}") boolean virtualThreads,
+            @Value("${owms.tms.lifecycle.async.recovery-batch:100}") int recoveryBatch) {
+        this.publisher = publisher;
+        this.repository = repository;
+        this.capacity = new Semaphore(capacity);
+        this.maxAttempts = maxAttempts;
+        this.recoveryBatch = recoveryBatch;
+        this.backoff = backoff;
+        for (var stage : Stage.values()) {
+            var counter = new AtomicInteger();
+            queued.put(stage, counter);
+            Gauge.builder("owms.tms.lifecycle.queued", counter, AtomicInteger::get)
+                    .description("Number of committed events waiting to be processed")
+                    .tag("stage", stage.name().toLowerCase())
+                    .register(meterRegistry);
+            lag.put(stage, Timer.builder("owms.tms.lifecycle.lag")
+                    .description("Time between the commit of an event and the begin of its processing")
+                    .tag("stage", stage.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.retries = Counter.builder("owms.tms.lifecycle.retries").register(meterRegistry);
+        this.failures = Counter.builder("owms.tms.lifecycle.failures").register(meterRegistry);
+        this.rejected = Counter.builder("owms.tms.lifecycle.rejected").register(meterRegistry);
+        this.recovered = Counter.builder("owms.tms.lifecycle.recovered").register(meterRegistry);
+        var threads = virtualThreads ? Thread.ofVirtual().name("tms-lane-", 0) : Thread.ofPlatform().daemon().name("tms-lane-", 0);
+        this.lanes = new ArrayList<>(lanes);
+        for (var i = 0; i < lanes; i++) {
+            var lane = new Lane();
+            lane.thread = threads.start(lane);
+            this.lanes.add(lane);
+        }
+        LOGGER.info("Process the lifecycle of TransportOrders asynchronously on [{}] lanes", lanes);
+    }
+
+    /**
+     * Hand over a committed event to the lane of its {@code TransportUnit}.
+     *
+     * @param event The committed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(TransportServiceEvent event) {
+        var stage = switch (event.getType()) {
+            case TRANSPORT_CREATED -> Stage.INITIALIZE;
+            case INITIALIZED, TRANSPORT_FINISHED, TRANSPORT_ONFAILURE, TRANSPORT_CANCELED, TRANSPORT_INTERRUPTED -> Stage.START;
+            default -> null;
+        };
+        if (stage != null) {
+            submit(stage, event);
+        }
+    }
+
+    private boolean submit(Stage stage, TransportServiceEvent event) {
+        // Lanes must never wait for themselves
+        var permit = !ON_LANE.get();
+        if (permit && !capacity.tryAcquire()) {
+            rejected.increment();
+            LOGGER.warn("Lifecycle lanes are at capacity, the event [{}] of TransportOrder with pKey [{}] is rejected and recovered later",
+                    event.getType(), event.getSource().getPersistentKey());
+            return false;
+        }
+        queued.get(stage).incrementAndGet();
+        var transportUnitBK = event.getSource().getTransportUnitBK();
+        var lane = lanes.get(transportUnitBK == null ? 0 : Math.floorMod(transportUnitBK.hashCode(), lanes.size()));
+        lane.tasks.add(new Task(stage, event, System.nanoTime(), permit));
+        return true;
+    }
+
+    /**
+     * Submit the {@code TransportUnit}s again, whose lifecycle has not proceeded since the previous run.
+     */
+    @Measured
+    @Scheduled(initialDelayString = "${owms.tms.lifecycle.async.recovery-interval:PT1M}", fixedDelayString = "${owms.tms.lifecycle.async.recovery-interval:PT1M}")
+    public void recover() {
+        var toInitialize = Set.copyOf(repository.findTransportUnitBKsInState(TransportOrderState.CREATED, recoveryBatch));
+        var toStart = Set.copyOf(repository.findTransportUnitBKsToStart(recoveryBatch));
+        var count = recover(Stage.INITIALIZE, toInitialize, waitingToInitialize, TransportOrderState.CREATED, TransportServiceEvent.TYPE.TRANSPORT_CREATED)
+                + recover(Stage.START, toStart, waitingToStart, TransportOrderState.INITIALIZED, TransportServiceEvent.TYPE.INITIALIZED);
+        waitingToInitialize = toInitialize;
+        waitingToStart = toStart;
+        if (count > 0) {
+            recovered.increment(count);
+            LOGGER.info("Recovered the lifecycle of [{}] TransportUnits", count);
+        }
+    }
+
+    private int recover(Stage stage, Set<String> transportUnitBKs, Set<String> previous, TransportOrderState state,
+            TransportServiceEvent.TYPE type) {
+        var count = 0;
+        for (var transportUnitBK : transportUnitBKs) {
+            if (!previous.contains(transportUnitBK)) {
+                continue;
+            }
+            var next = repository.findNextToStart(transportUnitBK, state);
+            if (next.isPresent()) {
+                if (!submit(stage, new TransportServiceEvent(next.get(), type))) {
+                    break;
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void process(Task task) {
+        queued.get(task.stage()).decrementAndGet();
+        if (task.permit()) {
+            capacity.release();
+        }
+        lag.get(task.stage()).record(System.nanoTime() - task.enqueued(), TimeUnit.NANOSECONDS);
+        for (var attempt = 1; ; attempt++) {
+            try {
+                publisher.publishEvent(new Deferred(task.event()));
+                return;
+            } catch (RuntimeException e) {
+                if (!isTransient(e) || attempt >= maxAttempts) {
+                    failures.increment();
+                    LOGGER.error("Processing the event [{}] of TransportOrder with pKey [{}] failed after [{}] attempts with [{}]",
+                            task.event().getType(), task.event().getSource().getPersistentKey(), attempt, e.getMessage(), e);
+                    return;
+                }
+                retries.increment();
+                LOGGER.debug("Retry the event [{}] after a transient failure [{}]", task.event().getType(), e.getMessage());
+                try {
+                    Thread.sleep(backoff.multipliedBy(1L << (attempt - 1)));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean isTransient(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof ConcurrencyFailureException
+                    || cause instanceof RetryableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stop all lanes, waiting events are not processed and left to the recovery after the next start.
+     */
+    @PreDestroy
+    void shutdown() {
+        lanes.forEach(lane -> lane.thread.interrupt());
+    }
+
+    /**
+     * One lane processes its events strictly in order.
+     */
+    private final class Lane implements Runnable {
+
+        private final LinkedBlockingQueue<Task> tasks = new LinkedBlockingQueue<>();
+        private Thread thread;
+
+        @Override
+        public void run() {
+            ON_LANE.set(true);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    process(tasks.take());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (!tasks.isEmpty()) {
+                LOGGER.warn("Lifecycle lane stopped with [{}] unprocessed events", tasks.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.openwms.core.SpringProfiles;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportationService;
+import org.openwms.tms.impl.QueuedTransportOrder;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A PendingStartRequests keeps track of the start requests sent to remote services that have not been answered yet. Each request expires
+ * after a timeout. An expired request of a still INITIALIZED {@code TransportOrder} is sent again, after the maximum number of requests
+ * the TransportOrder is set to ONFAILURE.
+ * <p>
+ * The pending requests are kept in memory only. After a restart the next INITIALIZED TransportOrder of each TransportUnit without a
+ * STARTED one is tracked again, because its request may have been lost.
+ *
+ * @author Heiko Scherrer
+ */
+@Profile(SpringProfiles.ASYNCHRONOUS_PROFILE)
+@Component
+class PendingStartRequests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PendingStartRequests.class);
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+    private final TransportationService<TransportOrder> service;
+    private final ExternalStarter externalStarter;
+    private final TimerWheel<String> wheel;
+    private final Map<String, Integer> attempts = new HashMap<>();
+    /** The time of the first request per TransportOrder, in the order of the first requests. Kept until the request is answered. */
+    private final Map<String, Long> firstRequested = new LinkedHashMap<>();
+    private final long timeoutMillis;
+    private final int maxRequests;
+    private final Counter rerequested;
+    private final Counter failed;
+
+    PendingStartRequests(TransportOrderRepository<TransportOrder, Long> repository, TransportationService<TransportOrder> service,
+            @Lazy ExternalStarter externalStarter, MeterRegistry meterRegistry,
+            @Value("${owms.tms.start-requests.timeout:PT5M}") Duration timeout,
+            @Value("${owms.tms.start-requests.max-requests:3}") int maxRequests,
+            @Value("${owms.tms.start-requests.tick:PT1S}") Duration tick,
+            @Value("${owms.tms.start-requests.wheel-size:512}") int wheelSize) {
+        this.repository = repository;
+        this.service = service;
+        this.externalStarter = externalStarter;
+        this.wheel = new TimerWheel<>(tick.toMillis(), wheelSize, System.currentTimeMillis());
+        this.timeoutMillis = timeout.toMillis();
+        this.maxRequests = maxRequests;
+        Gauge.builder("owms.tms.start-requests.pending", this, PendingStartRequests::size)
+                .description("Number of start requests not answered yet")
+                .register(meterRegistry);
+        TimeGauge.builder("owms.tms.start-requests.oldest", this, TimeUnit.MILLISECONDS, PendingStartRequests::oldestAge)
+                .description("Age of the oldest start request not answered yet")
+                .register(meterRegistry);
+        this.rerequested = Counter.builder("owms.tms.start-requests.expired")
+                .description("Expired start requests")
+                .tag("outcome", "rerequested")
+                .register(meterRegistry);
+        this.failed = Counter.builder("owms.tms.start-requests.expired")
+                .description("Expired start requests")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Track a start request that has just been sent. A request sent again keeps the age of the first one.
+     *
+     * @param pKey The persistent key of the TransportOrder
+     */
+    synchronized void track(String pKey) {
+        var now = System.currentTimeMillis();
+        attempts.putIfAbsent(pKey, 1);
+        firstRequested.putIfAbsent(pKey, now);
+        wheel.add(pKey, timeoutMillis, now);
+    }
+
+    /**
+     * Stop tracking the start request because it has been answered.
+     *
+     * @param pKey The persistent key of the TransportOrder
+     */
+    synchronized void answered(String pKey) {
+        attempts.remove(pKey);
+        firstRequested.remove(pKey);
+        wheel.cancel(pKey);
+    }
+
+    synchronized int size() {
+        return wheel.size();
+    }
+
+    synchronized double oldestAge() {
+        // The expiry of a request removes it from the wheel, only the first request time survives the requests sent again
+        var oldest = firstRequested.values().iterator();
+        return oldest.hasNext() ? System.currentTimeMillis() - oldest.next() : 0;
+    }
+
+    /**
+     * Send the expired start requests again or set their TransportOrders to ONFAILURE.
+     */
+    @Scheduled(initialDelayString = "${owms.tms.start-requests.tick:PT1S}", fixedDelayString = "${owms.tms.start-requests.tick:PT1S}")
+    public void expire() {
+        List<String> expired;
+        var requests = new HashMap<String, Integer>();
+        synchronized (this) {
+            expired = wheel.advance(System.currentTimeMillis());
+            expired.forEach(pKey -> requests.put(pKey, attempts.remove(pKey)));
+        }
+        for (var pKey : expired) {
+            try {
+                var to = repository.findBypKey(pKey);
+                if (to.isEmpty() || to.get().getState() != TransportOrderState.INITIALIZED) {
+                    forget(pKey);
+                    continue;
+                }
+                var sent = requests.get(pKey) == null ? 1 : requests.get(pKey);
+                if (sent < maxRequests) {
+                    LOGGER.warn("Start request for TransportOrder [{}] has not been answered, request again", pKey);
+                    synchronized (this) {
+                        attempts.put(pKey, sent + 1);
+                    }
+                    rerequested.increment();
+                    externalStarter.request(pKey);
+                } else {
+                    LOGGER.error("Start request for TransportOrder [{}] has not been answered after [{}] requests, set it to ONFAILURE", pKey, sent);
+                    failed.increment();
+                    forget(pKey);
+                    service.change(TransportOrderState.ONFAILURE, List.of(pKey));
+                }
+            } catch (Exception e) {
+                LOGGER.error("Could not handle the expired start request for TransportOrder [{}]. Message: [{}]", pKey, e.getMessage());
+                forget(pKey);
+            }
+        }
+    }
+
+    private synchronized void forget(String pKey) {
+        attempts.remove(pKey);
+        firstRequested.remove(pKey);
+    }
+
+    /**
+     * Track the next INITIALIZED TransportOrder of each TransportUnit without a STARTED one once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        var started = repository.findAllQueuedInState(TransportOrderState.STARTED).stream()
+                .map(QueuedTransportOrder::transportUnitBK)
+                .collect(Collectors.toSet());
+        var next = repository.findAllQueuedInState(TransportOrderState.INITIALIZED).stream()
+                .filter(q -> !started.contains(q.transportUnitBK()))
+                .collect(Collectors.groupingBy(QueuedTransportOrder::transportUnitBK,
+                        Collectors.minBy(QueuedTransportOrder.START_ORDER)));
+        next.values().forEach(q -> q.ifPresent(queued -> track(queued.pKey())));
+        LOGGER.info("Tracking [{}] possibly pending start requests", next.size());
+    }
+}
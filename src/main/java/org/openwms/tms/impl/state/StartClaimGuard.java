@@ -0,0 +1,73 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.ameba.i18n.Translator;
+import org.openwms.tms.StateChangeException;
+import org.openwms.tms.TMSMessageCodes;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import static org.openwms.tms.TransportOrderState.INITIALIZED;
+import static org.openwms.tms.TransportOrderState.STARTED;
+
+/**
+ * A StartClaimGuard claims the start of an INITIALIZED {@link TransportOrder}. The claim fails if another TransportOrder for the same
+ * TransportUnit is already started, this is checked with the claim itself and finally enforced by the unique constraint on the started
+ * TransportUnit. It is the only guard that writes and therefore runs last.
+ * <p>
+ * If the unique constraint is hit by a concurrent start, the repository rolls back only the claim and a {@link StateChangeException} is
+ * thrown, the caller's transaction stays usable. The hard-coded {@link StateManagerImpl} uses the same guard.
+ *
+ * @author Heiko Scherrer
+ */
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Component
+class StartClaimGuard implements TransitionGuard {
+
+    private final Translator translator;
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+
+    StartClaimGuard(Translator translator, TransportOrderRepository<TransportOrder, Long> repository) {
+        this.translator = translator;
+        this.repository = repository;
+    }
+
+    @Override
+    public boolean supports(TransportOrderState currentState, TransportOrderState newState) {
+        return currentState == INITIALIZED && newState == STARTED;
+    }
+
+    @Override
+    public void check(TransportOrderState newState, TransportOrder transportOrder) {
+        if (!claimStart(transportOrder)) {
+            throw new StateChangeException(
+                    translator,
+                    TMSMessageCodes.START_TO_NOT_ALLOWED_ALREADY_STARTED_ONE,
+                    transportOrder.getTransportUnitBK(), transportOrder.getPersistentKey());
+        }
+    }
+
+    private boolean claimStart(TransportOrder transportOrder) {
+        // Pending changes are written before the claim, so that a rollback of the claim does not discard them
+        repository.flush();
+        return repository.claimStart(transportOrder.getPk()) == 1;
+    }
+}
@@ -22,6 +22,7 @@ import org.openwms.tms.TransportServiceEvent;
 import org.openwms.tms.impl.TransportOrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
@@ -39,15 +40,29 @@ class StartListener {
     private final TransportOrderRepository<TransportOrder, Long> repository;
     private final Startable starter;
     private final Translator translator;
+    private final LifecycleLanes lifecycleLanes;
 
-    StartListener(TransportOrderRepository<TransportOrder, Long> repository, Startable starter, Translator translator) {
+    StartListener(TransportOrderRepository<TransportOrder, Long> repository, Startable starter, Translator translator,
+            @Autowired(required = false) LifecycleLanes lifecycleLanes) {
         this.repository = repository;
         this.starter = starter;
         this.translator = translator;
+        this.lifecycleLanes = lifecycleLanes;
     }
 
     @EventListener
     public void onEvent(TransportServiceEvent event) {
+        if (lifecycleLanes == null) {
+            handle(event);
+        }
+    }
+
+    @EventListener
+    public void onDeferred(LifecycleLanes.Deferred deferred) {
+        handle(deferred.event());
+    }
+
+    private void handle(TransportServiceEvent event) {
         final var pk = event.getSource().getPk();
         var to = repository.findById(pk).orElseThrow(
                 () -> new NotFoundException(translator, TO_WITH_PK_NOT_FOUND, new Long[]{pk}, pk)
@@ -17,6 +17,9 @@ package org.openwms.tms.impl.state;
 
 import org.openwms.tms.TransportOrder;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * A Startable implementation is able to start or restart {@code TransportOrder}s.
  *
@@ -31,6 +34,14 @@ public interface Startable {
      */
     void start(String pKey);
 
+    /**
+     * Start all {@code TransportOrder}s with the given ids in one transaction. Orders that cannot be started are skipped and reported.
+     *
+     * @param pKeys The persistent keys of the TransportOrders to start
+     * @return The persistent keys of the TransportOrders that could not be started, mapped to the reason
+     */
+    Map<String, String> startAll(Collection<String> pKeys);
+
     /**
      * Start the next {@code TransportOrder} for the {@code TransportUnit}.
      *
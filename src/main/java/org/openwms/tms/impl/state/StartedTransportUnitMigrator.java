@@ -0,0 +1,49 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.ameba.annotation.TxService;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+/**
+ * A StartedTransportUnitMigrator marks the TransportUnits of {@link TransportOrder}s that had been STARTED before the started
+ * TransportUnit was recorded. If a TransportUnit has more than one STARTED TransportOrder, only the oldest one is marked.
+ *
+ * @author Heiko Scherrer
+ */
+@TxService
+class StartedTransportUnitMigrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartedTransportUnitMigrator.class);
+    private final TransportOrderRepository<TransportOrder, Long> repository;
+
+    StartedTransportUnitMigrator(TransportOrderRepository<TransportOrder, Long> repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        var migrated = repository.backfillStartedTransportUnits();
+        if (migrated > 0) {
+            LOGGER.info("Marked the TransportUnit of [{}] STARTED TransportOrders", migrated);
+        }
+    }
+}
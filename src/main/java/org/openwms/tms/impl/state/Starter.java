@@ -28,7 +28,9 @@ import org.openwms.tms.StateManager;
 import org.openwms.tms.TransportOrder;
 import org.openwms.tms.TransportOrderState;
 import org.openwms.tms.TransportServiceEvent;
+import org.openwms.tms.impl.TransportOrderDispatchQueues;
 import org.openwms.tms.impl.TransportOrderRepository;
+import org.openwms.tms.impl.TransportUnitLeases;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,7 +39,15 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static java.lang.String.format;
 
@@ -56,15 +66,33 @@ class Starter implements Startable {
     private final ApplicationContext ctx;
     private final ExternalStarter externalStarter;
     private final StateManager stateManager;
+    private final TransportOrderDispatchQueues dispatchQueues;
+    private final CapacityDispatcher capacityDispatcher;
+    private final TransportUnitLocks locks;
+    private final TransportUnitLeases leases;
 
     Starter(TransportOrderRepository<TransportOrder, Long> repository, LocationApi locationApi, LocationGroupApi locationGroupApi,
-            ApplicationContext ctx, @Lazy @Autowired(required = false) ExternalStarter externalStarter, StateManager stateManager) {
+            ApplicationContext ctx, @Lazy @Autowired(required = false) ExternalStarter externalStarter, StateManager stateManager,
+            @Autowired(required = false) TransportOrderDispatchQueues dispatchQueues,
+            @Autowired(required = false) CapacityDispatcher capacityDispatcher, TransportUnitLocks locks,
+            @Autowired(required = false) TransportUnitLeases leases) {
         this.repository = repository;
         this.locationApi = locationApi;
         this.locationGroupApi = locationGroupApi;
         this.ctx = ctx;
         this.externalStarter = externalStarter;
         this.stateManager = stateManager;
+        this.dispatchQueues = dispatchQueues;
+        this.capacityDispatcher = capacityDispatcher;
+        this.locks = locks;
+        this.leases = leases;
+    }
+
+    private void lock(String transportUnitBK) {
+        locks.lock(transportUnitBK);
+        if (leases != null) {
+            leases.acquire(transportUnitBK);
+        }
     }
 
     /**
@@ -74,7 +102,62 @@ class Starter implements Startable {
     @Measured
     @Transactional(propagation = Propagation.REQUIRED, noRollbackFor = StateChangeException.class)
     public void start(String pKey) {
-        this.startInternal(repository.findBypKey(pKey).orElseThrow(() -> new NotFoundException(format("No TransportOrder with pKey [%s] found", pKey))));
+        lock(repository.findTransportUnitBKBypKey(pKey).orElseThrow(() -> new NotFoundException(format("No TransportOrder with pKey [%s] found", pKey))));
+        var to = repository.findBypKey(pKey).orElseThrow(() -> new NotFoundException(format("No TransportOrder with pKey [%s] found", pKey)));
+        this.startInternal(to);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The TransportUnits are locked before all candidates are loaded with one query and each distinct target is resolved only once. Orders with a higher priority are started
+     * first. The started orders are written in one batch before the STARTED events are published.
+     */
+    @Override
+    @Measured
+    @Transactional(propagation = Propagation.REQUIRED, noRollbackFor = StateChangeException.class)
+    public Map<String, String> startAll(Collection<String> pKeys) {
+        var failures = new LinkedHashMap<String, String>();
+        var transportUnitBKs = repository.findTransportUnitBKsBypKeys(pKeys);
+        locks.lockAll(transportUnitBKs);
+        var transportOrders = new ArrayList<>(repository.findBypKeys(List.copyOf(pKeys)));
+        if (leases != null) {
+            var leased = leases.acquireAll(transportUnitBKs);
+            transportOrders.removeIf(to -> {
+                if (leased.contains(to.getTransportUnitBK())) {
+                    failures.put(to.getPersistentKey(), format("The TransportUnit [%s] is leased by another instance", to.getTransportUnitBK()));
+                    return true;
+                }
+                return false;
+            });
+        }
+        transportOrders.sort(Comparator.comparingInt((TransportOrder to) -> to.getPriority().getOrder()).reversed()
+                .thenComparing(TransportOrder::getPk));
+        pKeys.stream()
+                .filter(pKey -> transportOrders.stream().noneMatch(to -> pKey.equals(to.getPersistentKey())))
+                .forEach(pKey -> failures.putIfAbsent(pKey, format("No TransportOrder with pKey [%s] found", pKey)));
+        var locationGroups = new HashMap<String, Optional<LocationGroupVO>>();
+        var locations = new HashMap<String, Optional<LocationVO>>();
+        var started = new ArrayList<TransportOrder>(transportOrders.size());
+        for (var to : transportOrders) {
+            try {
+                prepareStart(to,
+                        name -> locationGroups.computeIfAbsent(name, locationGroupApi::findByName),
+                        locationId -> locations.computeIfAbsent(locationId, locationApi::findById)
+                );
+                started.add(to);
+            } catch (StateChangeException | NotFoundException e) {
+                LOGGER.warn("Could not start TransportOrder with pKey [{}]. Message: [{}]", to.getPersistentKey(), e.getMessage());
+                failures.put(to.getPersistentKey(), e.getMessage());
+            }
+        }
+        repository.saveAll(started);
+        repository.flush();
+        LOGGER.info("Started [{}] of [{}] TransportOrders", started.size(), pKeys.size());
+        for (var to : started) {
+            ctx.publishEvent(new TransportServiceEvent(to, TransportServiceEvent.TYPE.STARTED));
+        }
+        return failures;
     }
 
     /**
@@ -84,10 +167,29 @@ class Starter implements Startable {
     @Measured
     @Transactional(propagation = Propagation.REQUIRED, noRollbackFor = StateChangeException.class)
     public void startNext(String transportUnitBK) {
-        var transportOrders = repository.findByTransportUnitBKAndStates(transportUnitBK, TransportOrderState.INITIALIZED);
-        if (!transportOrders.isEmpty()) {
-            triggerStartInternal(transportOrders.getFirst());
+        lock(transportUnitBK);
+        nextToStart(transportUnitBK).ifPresent(this::triggerStartInternal);
+    }
+
+    private Optional<TransportOrder> nextToStart(String transportUnitBK) {
+        if (dispatchQueues == null) {
+            return repository.findNextToStart(transportUnitBK, TransportOrderState.INITIALIZED);
         }
+        if (dispatchQueues.isTracked(transportUnitBK)) {
+            var head = dispatchQueues.peek(transportUnitBK);
+            if (head.isEmpty()) {
+                return Optional.empty();
+            }
+            var next = repository.findById(head.get())
+                    .filter(to -> to.getState() == TransportOrderState.INITIALIZED && transportUnitBK.equals(to.getTransportUnitBK()));
+            if (next.isPresent()) {
+                return next;
+            }
+            LOGGER.debug("Dispatch queue of TransportUnit [{}] is stale and is rebuilt", transportUnitBK);
+        }
+        var initialized = repository.findByTransportUnitBKAndStates(transportUnitBK, TransportOrderState.INITIALIZED);
+        dispatchQueues.rebuild(transportUnitBK, initialized);
+        return dispatchQueues.peek(transportUnitBK).flatMap(pk -> initialized.stream().filter(to -> pk.equals(to.getPk())).findFirst());
     }
 
     /**
@@ -97,6 +199,7 @@ class Starter implements Startable {
     @Measured
     @Transactional(propagation = Propagation.REQUIRED, noRollbackFor = StateChangeException.class)
     public void triggerStart(TransportOrder to) {
+        lock(to.getTransportUnitBK());
         triggerStartInternal(to);
     }
 
@@ -117,40 +220,52 @@ class Starter implements Startable {
      */
     private void startInternal(TransportOrder to) {
         LOGGER.debug("> Request to start the TransportOrder with PKey [{}]", to.getPersistentKey());
+        prepareStart(to, locationGroupApi::findByName, locationApi::findById);
+        repository.save(to);
+        LOGGER.info("TransportOrder for TransportUnit with Barcode [{}] STARTED at [{}]. Persisted key is [{}]", to.getTransportUnitBK(), to.getStartDate(), to.getPk());
+        ctx.publishEvent(new TransportServiceEvent(to, TransportServiceEvent.TYPE.STARTED));
+    }
+
+    /**
+     * Validate the targets of the {@code to} and change its state to STARTED, without saving it. The targets are only changed if the
+     * TransportOrder is started.
+     *
+     * @param to The TransportOrder to start
+     * @param locationGroups Resolves a LocationGroup by its name
+     * @param locations Resolves a Location by its id
+     */
+    private void prepareStart(TransportOrder to, Function<String, Optional<LocationGroupVO>> locationGroups,
+            Function<String, Optional<LocationVO>> locations) {
         var lg = to.hasTargetLocationGroup()
                 ? Optional.<LocationGroupVO>empty()
-                : locationGroupApi.findByName(to.getTargetLocationGroup());
+                : locationGroups.apply(to.getTargetLocationGroup());
         var loc = LocationPK.isValid(to.getTargetLocation())
-                ? locationApi.findById(to.getTargetLocation())
+                ? locations.apply(to.getTargetLocation())
                 : Optional.<LocationVO>empty();
         if (lg.isEmpty() && loc.isEmpty()) {
             // At least one target must be set
             throw new NotFoundException("Neither a valid target LocationGroup nor a Location are set, hence it is not possible to start the TransportOrder");
         }
-        if (lg.isPresent()) {
-            if (lg.get().isInfeedBlocked()) {
-                throw new StateChangeException("Cannot start the TransportOrder because TargetLocationGroup is blocked");
-            }
-            to.setTargetLocationGroup(lg.get().asString());
-        } else {
-            to.setTargetLocationGroup(null);
+        if (lg.isPresent() && lg.get().isInfeedBlocked()) {
+            throw new StateChangeException("Cannot start the TransportOrder because TargetLocationGroup is blocked");
         }
-        if (loc.isPresent()) {
-            if (loc.get().isInfeedBlocked()) {
-                throw new StateChangeException("Cannot start the TransportOrder because TargetLocation is blocked");
-            }
-            to.setTargetLocation(loc.get().asString());
-        } else {
-            to.setTargetLocation(null);
+        if (loc.isPresent() && loc.get().isInfeedBlocked()) {
+            throw new StateChangeException("Cannot start the TransportOrder because TargetLocation is blocked");
         }
-
-        var others = repository.findByTransportUnitBKAndStates(to.getTransportUnitBK(), TransportOrderState.STARTED);
-        if (!others.isEmpty()) {
-            throw new StateChangeException(format("Cannot start TransportOrder for TransportUnit [%s] because [%s] TransportOrders already started [%s]", to.getTransportUnitBK(), others.size(), others.get(0).getPersistentKey()));
+        var targetLocationGroup = to.getTargetLocationGroup();
+        var targetLocation = to.getTargetLocation();
+        to.setTargetLocationGroup(lg.map(LocationGroupVO::asString).orElse(null));
+        to.setTargetLocation(loc.map(LocationVO::asString).orElse(null));
+        try {
+            if (capacityDispatcher != null) {
+                capacityDispatcher.acquire(to);
+            }
+            to.changeState(stateManager, TransportOrderState.STARTED);
+        } catch (RuntimeException e) {
+            // The order is not started, so its targets must not be changed either
+            to.setTargetLocationGroup(targetLocationGroup);
+            to.setTargetLocation(targetLocation);
+            throw e;
         }
-        to.changeState(stateManager, TransportOrderState.STARTED);
-        repository.save(to);
-        LOGGER.info("TransportOrder for TransportUnit with Barcode [{}] STARTED at [{}]. Persisted key is [{}]", to.getTransportUnitBK(), to.getStartDate(), to.getPk());
-        ctx.publishEvent(new TransportServiceEvent(to, TransportServiceEvent.TYPE.STARTED));
     }
 }
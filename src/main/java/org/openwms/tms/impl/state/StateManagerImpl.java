@@ -22,12 +22,15 @@ import org.ameba.i18n.Translator;
 import org.openwms.tms.StateChangeException;
 import org.openwms.tms.StateManager;
 import org.openwms.tms.TMSMessageCodes;
+import org.openwms.tms.TransitionJournal;
 import org.openwms.tms.TransportOrder;
 import org.openwms.tms.TransportOrderState;
-import org.openwms.tms.impl.TransportOrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 
@@ -39,10 +42,12 @@ import static org.openwms.tms.TransportOrderState.ONFAILURE;
 import static org.openwms.tms.TransportOrderState.STARTED;
 
 /**
- * A StateManagerImpl.
+ * A StateManagerImpl validates state transitions with hard-coded rules. Active unless the {@link TransitionTableStateManager} is
+ * switched on.
  *
  * @author Heiko Scherrer
  */
+@ConditionalOnProperty(value = "owms.tms.state-manager.table-driven", havingValue = "false", matchIfMissing = true)
 @TxService(propagation = Propagation.MANDATORY)// don't because it is called within a Hibernate generation
 class StateManagerImpl implements StateManager {
 
@@ -50,15 +55,26 @@ class StateManagerImpl implements StateManager {
     @Transient
     private final Translator translator;
     @Transient
-    private final TransportOrderRepository repo;
+    private final TransitionJournal journal;
+    @Transient
+    private final StartClaimGuard startClaimGuard;
 
-    StateManagerImpl(Translator translator, TransportOrderRepository repo) {
+    StateManagerImpl(Translator translator, @Autowired(required = false) TransitionJournal journal,
+            StartClaimGuard startClaimGuard) {
         this.translator = translator;
-        this.repo = repo;
+        this.journal = journal;
+        this.startClaimGuard = startClaimGuard;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A rejected transition does not mark the caller's transaction rollback-only, callers that change many orders report the rejected
+     * ones and commit the others.
+     */
     @Measured
     @Override
+    @Transactional(propagation = Propagation.MANDATORY, noRollbackFor = StateChangeException.class)
     public void validate(TransportOrderState newState, TransportOrder transportOrder) throws StateChangeException {
         var state = transportOrder.getState();
         LOGGER.debug("Request to change the state of TransportOrder with pKey [{}] from [{}] to [{}]", transportOrder.getPersistentKey(), state, newState);
@@ -93,14 +109,9 @@ class StateManagerImpl implements StateManager {
                             TMSMessageCodes.STATE_CHANGE_ERROR_FOR_INITIALIZED_TO,
                             transportOrder.getPersistentKey());
                 }
-                if (newState == STARTED && !repo.findByTransportUnitBKAndStates(transportOrder.getTransportUnitBK(), STARTED).isEmpty()) {
-                    throw new StateChangeException(
-                            translator,
-                            TMSMessageCodes.START_TO_NOT_ALLOWED_ALREADY_STARTED_ONE,
-                            transportOrder.getTransportUnitBK(), transportOrder.getPersistentKey());
+                if (newState == STARTED) {
+                    startClaimGuard.check(newState, transportOrder);
                 }
-                LOGGER.debug("Current state is [{}], new state is [{}], # of started is [{}]", state, newState,
-                        repo.numberOfTransportOrders(transportOrder.getTransportUnitBK(), STARTED));
             }
             case STARTED -> { /* All fine here. */ }
             case FINISHED, ONFAILURE, CANCELED -> throw new StateChangeException(
@@ -115,6 +126,9 @@ class StateManagerImpl implements StateManager {
             case FINISHED, ONFAILURE, CANCELED -> transportOrder.setEndDate(new Date());
             // OK for all others
         }
+        if (journal != null) {
+            journal.record(transportOrder, state, newState, null);
+        }
         LOGGER.debug("Request processed, order is now [{}]", newState);
     }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+
+/**
+ * A TargetLock is a row per limited target {@code Location} or {@code LocationGroup} that is locked while a {@code TransportOrder} to
+ * that target is started. It serializes the start decisions per target across all service instances.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "TMS_TARGET_LOCK")
+class TargetLock implements Serializable {
+
+    @Id
+    @Column(name = "C_TARGET")
+    private String target;
+
+    /** Dear JPA ... */
+    protected TargetLock() {}
+
+    TargetLock(String target) {
+        this.target = target;
+    }
+
+    String getTarget() {
+        return target;
+    }
+}
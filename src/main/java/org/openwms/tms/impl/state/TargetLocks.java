@@ -0,0 +1,71 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.ameba.annotation.TxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * A TargetLocks service locks the {@link TargetLock}s of limited targets in the database until the current transaction completes. A
+ * missing lock row is created on first use in a separate transaction. Targets are always locked in the same order to avoid deadlocks.
+ *
+ * @author Heiko Scherrer
+ */
+@TxService(propagation = Propagation.MANDATORY)
+class TargetLocks {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TargetLocks.class);
+    private final TargetLockRepository repository;
+    private final TransactionTemplate requiresNew;
+
+    TargetLocks(TargetLockRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Lock the {@code targets} until the current transaction completes, blocks as long as another transaction holds one of them.
+     *
+     * @param targets The targets to lock
+     */
+    void lock(Collection<String> targets) {
+        var sorted = new TreeSet<>(targets);
+        if (repository.lock(sorted).size() < sorted.size()) {
+            create(sorted);
+            repository.lock(sorted);
+        }
+    }
+
+    private void create(Collection<String> targets) {
+        try {
+            requiresNew.executeWithoutResult(status -> targets.stream()
+                    .filter(target -> !repository.existsById(target))
+                    .forEach(target -> repository.save(new TargetLock(target))));
+        } catch (DataIntegrityViolationException dive) {
+            LOGGER.debug("TargetLocks [{}] have been created concurrently", targets);
+        }
+    }
+}
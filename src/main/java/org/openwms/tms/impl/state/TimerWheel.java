@@ -0,0 +1,153 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A TimerWheel is a hashed timer wheel that expires keys after a delay. Each key is put into the bucket of its deadline tick, buckets are
+ * doubly linked lists, so that adding and cancelling a key takes constant time. Advancing the wheel only visits the buckets of the
+ * elapsed ticks. Not thread-safe.
+ *
+ * @param <K> The type of keys
+ * @author Heiko Scherrer
+ */
+class TimerWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Entry<K>[] buckets;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private final long startMillis;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be greater than 0");
+        }
+        var size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = Math.max(size, 1) - 1;
+        this.buckets = new Entry[mask + 1];
+        this.startMillis = nowMillis;
+    }
+
+    /**
+     * Add the {@code key} to expire after the {@code delayMillis}, a previous deadline of the same key is replaced.
+     *
+     * @param key The key
+     * @param delayMillis Delay in milliseconds
+     * @param nowMillis The current time in milliseconds
+     */
+    void add(K key, long delayMillis, long nowMillis) {
+        var previous = entries.get(key);
+        if (previous != null) {
+            unlink(previous);
+        }
+        var deadlineTick = Math.max(currentTick + 1, (nowMillis + delayMillis - startMillis + tickMillis - 1) / tickMillis);
+        var entry = new Entry<>(key, deadlineTick);
+        link(entry);
+        entries.put(key, entry);
+    }
+
+    /**
+     * Cancel the deadline of the {@code key}.
+     *
+     * @param key The key
+     * @return {@literal true} if the key was pending
+     */
+    boolean cancel(K key) {
+        var entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Advance the wheel to the current time and remove all keys whose deadline has been reached.
+     *
+     * @param nowMillis The current time in milliseconds
+     * @return The expired keys
+     */
+    List<K> advance(long nowMillis) {
+        var targetTick = (nowMillis - startMillis) / tickMillis;
+        var expired = new ArrayList<K>();
+        var steps = Math.min(targetTick - currentTick, buckets.length);
+        for (var i = 1; i <= steps; i++) {
+            var entry = buckets[(int) ((currentTick + i) & mask)];
+            while (entry != null) {
+                var next = entry.next;
+                if (entry.deadlineTick <= targetTick) {
+                    unlink(entry);
+                    entries.remove(entry.key);
+                    expired.add(entry.key);
+                }
+                entry = next;
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    /**
+     * Return the number of pending keys.
+     *
+     * @return The number
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private void link(Entry<K> entry) {
+        var index = (int) (entry.deadlineTick & mask);
+        entry.next = buckets[index];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        buckets[index] = entry;
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            buckets[(int) (entry.deadlineTick & mask)] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineTick;
+        private Entry<K> prev;
+        private Entry<K> next;
+
+        private Entry(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
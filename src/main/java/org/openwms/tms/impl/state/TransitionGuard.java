@@ -0,0 +1,48 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.openwms.tms.StateChangeException;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+
+/**
+ * A TransitionGuard is an additional check on a state transition of a {@link TransportOrder} that is allowed by the transition table. The
+ * guards of a transition are resolved once at startup. A guard shall not query the database for validation only, data it needs is taken
+ * from the TransportOrder itself or from an in-memory index.
+ *
+ * @author Heiko Scherrer
+ */
+public interface TransitionGuard {
+
+    /**
+     * Whether this guard applies to the transition from {@code currentState} to {@code newState}. Only called at startup.
+     *
+     * @param currentState The current state
+     * @param newState The requested state
+     * @return {@literal true} if the guard shall be checked for this transition
+     */
+    boolean supports(TransportOrderState currentState, TransportOrderState newState);
+
+    /**
+     * Check the transition of the {@code transportOrder} to the {@code newState}.
+     *
+     * @param newState The requested state
+     * @param transportOrder The TransportOrder in its current state
+     * @throws StateChangeException If the transition is not allowed
+     */
+    void check(TransportOrderState newState, TransportOrder transportOrder);
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.ameba.i18n.Translator;
+import org.openwms.tms.StateChangeException;
+import org.openwms.tms.StateManager;
+import org.openwms.tms.TMSMessageCodes;
+import org.openwms.tms.TransitionJournal;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static org.openwms.tms.TransportOrderState.CANCELED;
+import static org.openwms.tms.TransportOrderState.CREATED;
+import static org.openwms.tms.TransportOrderState.FINISHED;
+import static org.openwms.tms.TransportOrderState.INITIALIZED;
+import static org.openwms.tms.TransportOrderState.ONFAILURE;
+import static org.openwms.tms.TransportOrderState.STARTED;
+
+/**
+ * A TransitionTableStateManager validates state transitions with a transition table that is built once at startup. Each cell of the table
+ * either rejects the transition or holds the {@link TransitionGuard}s to check, so that validating an allowed transition does a table
+ * lookup and runs the guards only. The rules are the same as the ones of the {@link StateManagerImpl}. Only active if switched on with
+ * {@code owms.tms.state-manager.table-driven}.
+ *
+ * @author Heiko Scherrer
+ */
+@ConditionalOnProperty(value = "owms.tms.state-manager.table-driven", havingValue = "true")
+@TxService(propagation = Propagation.MANDATORY)
+class TransitionTableStateManager implements StateManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransitionTableStateManager.class);
+    private final Translator translator;
+    private final TransitionJournal journal;
+    private final Map<TransportOrderState, Map<TransportOrderState, Transition>> table = new EnumMap<>(TransportOrderState.class);
+
+    TransitionTableStateManager(Translator translator, List<TransitionGuard> guards,
+            @Autowired(required = false) TransitionJournal journal) {
+        this.translator = translator;
+        this.journal = journal;
+        for (var current : TransportOrderState.values()) {
+            var row = new EnumMap<TransportOrderState, Transition>(TransportOrderState.class);
+            for (var next : TransportOrderState.values()) {
+                var rejection = rejectionOf(current, next);
+                row.put(next, new Transition(
+                        rejection,
+                        rejection == null
+                                ? guards.stream().filter(g -> g.supports(current, next)).toArray(TransitionGuard[]::new)
+                                : new TransitionGuard[0],
+                        next == STARTED,
+                        next == FINISHED || next == ONFAILURE || next == CANCELED
+                ));
+            }
+            table.put(current, row);
+        }
+    }
+
+    private Rejection rejectionOf(TransportOrderState current, TransportOrderState next) {
+        if (current.compareTo(next) > 0) {
+            // Don't allow to turn back the state!
+            return (ns, to) -> new StateChangeException(translator, TMSMessageCodes.TO_STATE_CHANGE_BACKWARDS_NOT_ALLOWED, to.getPersistentKey());
+        }
+        return switch (current) {
+            case CREATED -> next == INITIALIZED || next == CANCELED
+                    ? null
+                    : (ns, to) -> new StateChangeException(translator, TMSMessageCodes.TO_STATE_CHANGE_NOT_READY, ns, to.getPersistentKey());
+            case INITIALIZED -> next == STARTED || next == CANCELED || next == ONFAILURE
+                    ? null
+                    : (ns, to) -> new StateChangeException(translator, TMSMessageCodes.STATE_CHANGE_ERROR_FOR_INITIALIZED_TO, to.getPersistentKey());
+            case STARTED -> null;
+            case FINISHED, ONFAILURE, CANCELED ->
+                    (ns, to) -> new StateChangeException(translator, TMSMessageCodes.TO_STATE_CHANGE_BACKWARDS_NOT_ALLOWED, to.getPersistentKey());
+            default -> (ns, to) -> {
+                throw new IllegalStateException(format("State not managed: [%s]", current));
+            };
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A rejected transition does not mark the caller's transaction rollback-only, callers that change many orders report the rejected
+     * ones and commit the others.
+     */
+    @Measured
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, noRollbackFor = StateChangeException.class)
+    public void validate(TransportOrderState newState, TransportOrder transportOrder) throws StateChangeException {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Request to change the state of TransportOrder with pKey [{}] from [{}] to [{}]", transportOrder.getPersistentKey(),
+                    transportOrder.getState(), newState);
+        }
+        if (newState == null) {
+            throw new StateChangeException(translator, TMSMessageCodes.TO_STATE_CHANGE_NULL_STATE, transportOrder.getPersistentKey());
+        }
+        var transition = table.get(transportOrder.getState()).get(newState);
+        if (transition.rejection != null) {
+            throw transition.rejection.reject(newState, transportOrder);
+        }
+        for (var guard : transition.guards) {
+            guard.check(newState, transportOrder);
+        }
+        if (transition.setsStartDate) {
+            transportOrder.setStartDate(new Date());
+        } else if (transition.setsEndDate) {
+            transportOrder.setEndDate(new Date());
+        }
+        if (journal != null) {
+            journal.record(transportOrder, transportOrder.getState(), newState, null);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Rejection {
+        StateChangeException reject(TransportOrderState newState, TransportOrder transportOrder);
+    }
+
+    private record Transition(Rejection rejection, TransitionGuard[] guards, boolean setsStartDate, boolean setsEndDate) {
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.openwms.tms.StateChangeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.String.format;
+
+/**
+ * A TransportUnitLocks serializes the start decisions for the same {@code TransportUnit} within one service instance, while decisions
+ * for different {@code TransportUnit}s run in parallel. A fixed number of locks is striped over the business keys of the
+ * {@code TransportUnit}s.
+ * <p>
+ * A lock is held until the current transaction has committed or rolled back, so that the next decision sees the committed result of the
+ * previous one. Locks are released before any other after-commit callback runs, so work dispatched after the commit does not hold them.
+ * Several locks are always acquired in the same order, also by nested transactions of the same thread: a nested transaction is refused a
+ * lock that precedes one the thread already holds. If a lock cannot be acquired within the timeout, the locks acquired so far are released
+ * and the decision is rejected.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class TransportUnitLocks {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportUnitLocks.class);
+    private final ReentrantLock[] stripes;
+    private final Duration timeout;
+
+    TransportUnitLocks(@Value("${owms.tms.start-locks.stripes:64}") int stripes,
+            @Value("${owms.tms.start-locks.timeout:PT10S}") Duration timeout) {
+        this.stripes = new ReentrantLock[stripes];
+        for (var i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Lock the {@code TransportUnit} until the current transaction completes. Does nothing without an active transaction.
+     *
+     * @param transportUnitBK The business key of the TransportUnit
+     * @throws StateChangeException If the lock could not be acquired within the timeout
+     */
+    void lock(String transportUnitBK) {
+        lockAll(List.of(Objects.requireNonNullElse(transportUnitBK, "")));
+    }
+
+    /**
+     * Lock all {@code TransportUnit}s until the current transaction completes. Does nothing without an active transaction.
+     *
+     * @param transportUnitBKs The business keys of the TransportUnits
+     * @throws StateChangeException If not all locks could be acquired within the timeout
+     */
+    void lockAll(Collection<String> transportUnitBKs) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        var indexes = transportUnitBKs.stream()
+                .filter(bk -> bk != null && !bk.isEmpty())
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        var highestHeld = highestHeldStripe();
+        for (var index : indexes) {
+            if (index < highestHeld && !stripes[index].isHeldByCurrentThread()) {
+                // Taking it would break the lock order with the locks of an enclosing transaction
+                throw new StateChangeException(format("Cannot lock the TransportUnits [%s] while other TransportUnits are locked", transportUnitBKs));
+            }
+        }
+        var acquired = new ArrayList<ReentrantLock>(indexes.length);
+        try {
+            for (var index : indexes) {
+                var lock = stripes[index];
+                if (!lock.tryLock(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("Could not lock the start decisions of TransportUnits [{}] within [{}]", transportUnitBKs, timeout);
+                    acquired.forEach(ReentrantLock::unlock);
+                    throw new StateChangeException(format("Could not lock the TransportUnits [%s] within [%s]", transportUnitBKs, timeout));
+                }
+                acquired.add(lock);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            acquired.forEach(ReentrantLock::unlock);
+            throw new StateChangeException(format("Interrupted while locking the TransportUnits [%s]", transportUnitBKs));
+        }
+        if (!acquired.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new Release(acquired));
+        }
+    }
+
+    private int highestHeldStripe() {
+        for (var i = stripes.length - 1; i >= 0; i--) {
+            if (stripes[i].isHeldByCurrentThread()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    int stripeOf(String transportUnitBK) {
+        return Math.floorMod(transportUnitBK.hashCode(), stripes.length);
+    }
+
+    /**
+     * Releases the acquired locks once, either right after the commit or after a rollback.
+     */
+    private static final class Release implements TransactionSynchronization {
+
+        private final List<ReentrantLock> acquired;
+        private boolean released;
+
+        private Release(List<ReentrantLock> acquired) {
+            this.acquired = acquired;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            release();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            release();
+        }
+
+        private void release() {
+            if (!released) {
+                released = true;
+                acquired.forEach(ReentrantLock::unlock);
+            }
+        }
+    }
+}
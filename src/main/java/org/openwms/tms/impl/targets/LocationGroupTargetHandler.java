@@ -19,6 +19,7 @@ import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
 import org.openwms.common.location.api.LocationGroupVO;
 import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
 import org.openwms.tms.impl.TargetHandler;
 import org.openwms.tms.impl.TransportOrderRepository;
 
@@ -41,8 +42,7 @@ class LocationGroupTargetHandler implements TargetHandler<LocationGroupVO> {
      */
     @Override
     @Measured
-    public int getNoTOToTarget(LocationGroupVO target) {
-        var result = repository.findByTargetLocation(target.asString());
-        return result != null ? result.size() : 0;
+    public int getNoTOToTarget(LocationGroupVO target, TransportOrderState... states) {
+        return repository.countByTargetLocationGroupAndStates(target.asString(), states);
     }
 }
@@ -179,4 +179,39 @@ class CreateTODocumentation extends TransportationTestBase {
                 .andReturn()
         ;
     }
+
+    @Test
+    void testImportTOs() throws Exception {
+        var csv = "barcode,target,priority\n"
+                + BC_4711 + "," + ERR_LOC_STRING + ",HIGHEST\n"
+                + BC_4711 + "," + ERR_LOC_STRING + ",\n"
+                + BC_4711 + "," + ERR_LOC_STRING + ",UNKNOWN\n";
+
+        mockMvc.perform(post(TMSApi.TRANSPORT_ORDERS + "/import")
+                .contentType(TMSApi.MEDIA_TYPE_CSV)
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("imported", is(2)))
+                .andExpect(jsonPath("failed", is(1)))
+                .andExpect(jsonPath("failures[0].line", is(4)))
+                .andDo(document("to-import-csv"))
+        ;
+    }
+
+    @Test
+    void testImportTOsWithQuotedFieldsAndBadRow() throws Exception {
+        var csv = "barcode,target,priority\n"
+                + "\"" + BC_4711 + "\",\"" + ERR_LOC_STRING + "\",HIGHEST\n"
+                + "X".repeat(300) + "," + ERR_LOC_STRING + ",\n"
+                + BC_4711 + "," + ERR_LOC_STRING + ",\"NORMAL\"\n";
+
+        mockMvc.perform(post(TMSApi.TRANSPORT_ORDERS + "/import")
+                .contentType(TMSApi.MEDIA_TYPE_CSV)
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("imported", is(2)))
+                .andExpect(jsonPath("failed", is(1)))
+                .andExpect(jsonPath("failures[0].line", is(3)))
+        ;
+    }
 }
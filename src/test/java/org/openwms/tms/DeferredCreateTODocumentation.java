@@ -0,0 +1,73 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms;
+
+import org.ameba.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A DeferredCreateTODocumentation tests the creation of TransportOrders when their initialization is deferred until after the commit.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+@TestPropertySource(properties = "owms.tms.create.deferred=true")
+class DeferredCreateTODocumentation extends TransportationTestBase {
+
+    @Test
+    void testCreateTOAndGet() throws Exception {
+        var res = postTOAndValidate(createTO(), NOTLOGGED);
+
+        var toLocation = (String) res.getResponse().getHeaderValue(HttpHeaders.LOCATION);
+        mockMvc.perform(get(toLocation))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("state", is(TransportOrderState.STARTED.toString())))
+                .andExpect(jsonPath("sourceLocation", is(INIT_LOC_STRING)))
+                .andExpect(jsonPath("transportUnitBK", is(BC_4711)))
+        ;
+    }
+
+    @Test
+    void testCreateTOUnknownTU() throws Exception {
+        var vo = createTO();
+        vo.setBarcode("UNKNOWN");
+        given(transportUnitApi.findTransportUnit(vo.getBarcode())).willThrow(new NotFoundException());
+
+        var res = mockMvc.perform(post(TMSApi.TRANSPORT_ORDERS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(vo)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        // The TransportOrder is kept, but the failed initialization is not reported to the caller
+        mockMvc.perform(get((String) res.getResponse().getHeaderValue(HttpHeaders.LOCATION)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("state", is(TransportOrderState.CREATED.toString())))
+        ;
+    }
+}
@@ -47,4 +47,17 @@ class TestConfiguration {
                 .with("request.state.change");
     }
 
+    @Bean
+    Queue tmsBatchRequestsTestQueue(@Value("test-tms-batch-requests-queue") String queueName) {
+        return new Queue(queueName, true);
+    }
+
+    @Bean
+    Binding tmsBatchRequestsTestBinding(TopicExchange tmsRequestsExchange, Queue tmsBatchRequestsTestQueue) {
+        return BindingBuilder
+                .bind(tmsBatchRequestsTestQueue)
+                .to(tmsRequestsExchange)
+                .with("request.state.changes");
+    }
+
 }
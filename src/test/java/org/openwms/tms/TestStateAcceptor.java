@@ -18,7 +18,9 @@ package org.openwms.tms;
 import org.ameba.annotation.Measured;
 import org.openwms.core.SpringProfiles;
 import org.openwms.tms.api.requests.state.StateChangeRequest;
+import org.openwms.tms.api.requests.state.StateChangeRequests;
 import org.openwms.tms.api.requests.state.StateChangeResponse;
+import org.openwms.tms.api.requests.state.StateChangeResponses;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.AmqpTemplate;
@@ -50,4 +52,15 @@ class TestStateAcceptor {
             amqpTemplate.convertAndSend("tms.requests", "response.state.change", new StateChangeResponse(request, "STARTED", null));
         }
     }
+
+    @Measured
+    @RabbitListener(queues = "test-tms-batch-requests-queue")
+    public void onRequests(StateChangeRequests requests) {
+        var responses = requests.getRequests().stream()
+                .filter(request -> "STARTED".equals(request.getRequestedState()))
+                .map(request -> new StateChangeResponse(request, "STARTED", null))
+                .toList();
+        LOGGER.debug("STARTING of [{}] TransportOrders is approved!", responses.size());
+        amqpTemplate.convertAndSend("tms.requests", "response.state.changes", new StateChangeResponses(responses));
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.api.TMSApi;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A TransitionJournalDocumentation tests the journal of TransportOrder state transitions.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+@TestPropertySource(properties = {"owms.tms.journal.enabled=true", "owms.tms.journal.node=node-1"})
+class TransitionJournalDocumentation extends TransportationTestBase {
+
+    @Test
+    void testStreamTransitions() throws Exception {
+        postTOAndValidate(createTO(), NOTLOGGED);
+
+        var result = mockMvc.perform(get(TMSApi.TRANSPORT_ORDERS + "/transitions")
+                        .param("from", LocalDateTime.now().minusHours(1).toString())
+                        .param("to", LocalDateTime.now().plusHours(1).toString())
+                        .accept(TMSApi.MEDIA_TYPE_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"from\":\"CREATED\",\"to\":\"INITIALIZED\"")))
+                .andExpect(content().string(containsString("\"from\":\"INITIALIZED\",\"to\":\"STARTED\"")))
+                .andExpect(content().string(containsString("\"node\":\"node-1\"")))
+        ;
+    }
+}
@@ -20,9 +20,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openwms.tms.api.TMSApi;
+import org.openwms.tms.api.TransportOrderPageVO;
 import org.openwms.tms.api.TransportOrderVO;
+import org.openwms.tms.impl.TransportOrderCacheInvalidator;
+import org.openwms.tms.impl.TransportOrderCounters;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.restdocs.RestDocumentationContextProvider;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -36,6 +42,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.documentationConfiguration;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -44,12 +51,18 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Heiko Scherrer
  */
 @TMSApplicationTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @Sql(scripts = "classpath:import-test.sql")
+@TestPropertySource(properties = "owms.tms.counters.enabled=true")
 class TransportationDocumentation {
 
     @Autowired
     //@Qualifier("jacksonOM")
     protected ObjectMapper objectMapper;
+    @Autowired
+    private TransportOrderCounters counters;
+    @Autowired
+    private CacheManager cacheManager;
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -72,4 +85,67 @@ class TransportationDocumentation {
         List<TransportOrderVO> tos = objectMapper.readValue(res.getResponse().getContentAsString(), new TypeReference<>() {});
         assertThat(tos).hasSize(1);
     }
+
+    @Test
+    void shall_count_active_ones_to_target() throws Exception {
+        counters.reconcile();
+        MvcResult res = mockMvc.perform(get(TMSApi.TRANSPORT_ORDERS + "/count")
+                .param("target", "EXT_/0000/0000/0000/0000"))
+                .andExpect(status().isOk())
+                .andDo(document("to-get-count"))
+                .andReturn();
+
+        assertThat(res.getResponse().getContentAsString()).isEqualTo("1");
+    }
+
+    @Test
+    void shall_search_with_filters() throws Exception {
+        MvcResult res = mockMvc.perform(get(TMSApi.TRANSPORT_ORDERS)
+                .param("state", "STARTED", "INITIALIZED")
+                .param("targetLocation", "EXT_/0000/0000/0000/0000")
+                .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andDo(document("to-search"))
+                .andReturn();
+
+        var page = objectMapper.readValue(res.getResponse().getContentAsString(), TransportOrderPageVO.class);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().getFirst().getId()).isEqualTo("1000");
+        assertThat(page.getNext()).isNull();
+    }
+
+    @Test
+    void shall_fail_search_with_invalid_cursor() throws Exception {
+        mockMvc.perform(get(TMSApi.TRANSPORT_ORDERS)
+                .param("after", "invalid"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shall_fail_search_with_invalid_limit() throws Exception {
+        mockMvc.perform(get(TMSApi.TRANSPORT_ORDERS)
+                .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shall_fail_search_with_invalid_state() throws Exception {
+        mockMvc.perform(get(TMSApi.TRANSPORT_ORDERS)
+                .param("state", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shall_evict_cached_one_after_change() throws Exception {
+        var cache = cacheManager.getCache(TransportOrderCacheInvalidator.CACHE_NAME);
+        cache.clear();
+        mockMvc.perform(get(TMSApi.TRANSPORT_ORDERS + "/1000"))
+                .andExpect(status().isOk());
+        assertThat(cache.get("1000")).isNotNull();
+
+        mockMvc.perform(post(TMSApi.TRANSPORT_ORDERS + "/1000")
+                .param("state", TransportOrderState.FINISHED.name()))
+                .andExpect(status().isNoContent());
+        assertThat(cache.get("1000")).isNull();
+    }
 }
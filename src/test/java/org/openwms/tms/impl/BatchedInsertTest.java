@@ -0,0 +1,83 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.TransportOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A BatchedInsertTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+class BatchedInsertTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory emf;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        statistics.clear();
+    }
+
+    @Test
+    void shall_insert_in_batches_with_one_block_of_keys() {
+        // test ...
+        List<Long> pks = new TransactionTemplate(transactionManager).execute(status -> {
+            var saved = new ArrayList<TransportOrder>();
+            for (var i = 0; i < 20; i++) {
+                saved.add(repository.save(new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING)));
+            }
+            return saved;
+        }).stream().map(TransportOrder::getPk).toList();
+
+        // verify ...
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        // the pooled optimizer needs up to two sequence calls for its first block, all rows go with one batched insert statement
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(pks.stream().mapToLong(Long::longValue).max().getAsLong()
+                - pks.stream().mapToLong(Long::longValue).min().getAsLong()).isEqualTo(19);
+    }
+}
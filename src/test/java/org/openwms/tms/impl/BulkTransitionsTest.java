@@ -0,0 +1,169 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.Message;
+import org.openwms.tms.PriorityLevel;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.openwms.tms.TransportationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A BulkTransitionsTest.
+ *
+ * @author Heiko Scherrer
+ */
+@RecordApplicationEvents
+@Sql(scripts = "classpath:delete-all.sql")
+class BulkTransitionsTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportationService<TransportOrder> service;
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ApplicationEvents events;
+    @Autowired
+    private BulkTransitions bulkTransitions;
+
+    private TransportOrder save(String transportUnitBK, TransportOrderState state) {
+        var to = new TransportOrder(transportUnitBK).setTargetLocation(ERR_LOC_STRING);
+        to.setState(state);
+        to.setTransportUnitBK(transportUnitBK);
+        return repository.save(to);
+    }
+
+    private TransportOrderState stateOf(TransportOrder transportOrder) {
+        return repository.findBypKey(transportOrder.getPersistentKey()).map(TransportOrder::getState).orElseThrow();
+    }
+
+    private long eventsOf(TransportServiceEvent.TYPE type) {
+        return events.stream(TransportServiceEvent.class).filter(e -> e.getType() == type).count();
+    }
+
+    @Test
+    void shall_cancel_all_of_a_TU() {
+        // setup ...
+        var initialized = save(BC_4711, TransportOrderState.INITIALIZED);
+        var started = save(BC_4711, TransportOrderState.STARTED);
+        var created = save(BC_4711, TransportOrderState.CREATED);
+        var other = save("4712", TransportOrderState.INITIALIZED);
+        var message = Message.newBuilder().messageNo("CANCEL_ALL").messageText("TransportUnit canceled").build();
+
+        // test ...
+        var failures = service.change(BC_4711, List.of(TransportOrderState.INITIALIZED, TransportOrderState.STARTED),
+                TransportOrderState.CANCELED, message);
+
+        // verify ...
+        assertThat(failures).isEmpty();
+        assertThat(stateOf(initialized)).isEqualTo(TransportOrderState.CANCELED);
+        assertThat(stateOf(started)).isEqualTo(TransportOrderState.CANCELED);
+        assertThat(stateOf(created)).isEqualTo(TransportOrderState.CREATED);
+        assertThat(stateOf(other)).isEqualTo(TransportOrderState.INITIALIZED);
+        assertThat(repository.findBypKey(started.getPersistentKey()).orElseThrow().getProblem().getMessageNo()).isEqualTo("CANCEL_ALL");
+        assertThat(eventsOf(TransportServiceEvent.TYPE.TRANSPORT_CANCELED)).isEqualTo(2);
+    }
+
+    @Test
+    void shall_report_orders_that_cannot_be_changed() {
+        // setup ...
+        var started = save(BC_4711, TransportOrderState.STARTED);
+        var created = save("4712", TransportOrderState.CREATED);
+
+        // test ...
+        var failures = service.change(TransportOrderState.FINISHED, List.of(started.getPersistentKey(), created.getPersistentKey()));
+
+        // verify ...
+        assertThat(failures).containsExactly(created.getPersistentKey());
+        assertThat(stateOf(started)).isEqualTo(TransportOrderState.FINISHED);
+        assertThat(stateOf(created)).isEqualTo(TransportOrderState.CREATED);
+        assertThat(eventsOf(TransportServiceEvent.TYPE.TRANSPORT_FINISHED)).isEqualTo(1);
+    }
+
+    @Test
+    void shall_keep_loaded_orders_attached_and_publish_after_commit() {
+        // setup ...
+        var started = save(BC_4711, TransportOrderState.STARTED);
+
+        // test ...
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var loaded = repository.findBypKey(started.getPersistentKey()).orElseThrow();
+            service.change(TransportOrderState.FINISHED, List.of(started.getPersistentKey()));
+
+            // verify ...
+            assertThat(em.contains(loaded)).isTrue();
+            assertThat(loaded.getState()).isEqualTo(TransportOrderState.FINISHED);
+            assertThat(loaded.getEndDate()).isNotNull();
+            assertThat(eventsOf(TransportServiceEvent.TYPE.TRANSPORT_FINISHED)).as("Not published before commit").isZero();
+            loaded.setPriority(PriorityLevel.HIGHEST);
+        });
+        assertThat(eventsOf(TransportServiceEvent.TYPE.TRANSPORT_FINISHED)).as("Published after commit").isEqualTo(1);
+        var stored = repository.findBypKey(started.getPersistentKey()).orElseThrow();
+        assertThat(stored.getState()).isEqualTo(TransportOrderState.FINISHED);
+        assertThat(stored.getPriority()).isEqualTo(PriorityLevel.HIGHEST);
+    }
+
+    @Test
+    void shall_not_publish_if_rolled_back() {
+        // setup ...
+        var started = save(BC_4711, TransportOrderState.STARTED);
+
+        // test ...
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.change(TransportOrderState.FINISHED, List.of(started.getPersistentKey()));
+            status.setRollbackOnly();
+        });
+
+        // verify ...
+        assertThat(stateOf(started)).isEqualTo(TransportOrderState.STARTED);
+        assertThat(eventsOf(TransportServiceEvent.TYPE.TRANSPORT_FINISHED)).isZero();
+    }
+
+    @Test
+    void shall_return_only_the_changed_orders() {
+        // setup ...
+        var started = save(BC_4711, TransportOrderState.STARTED);
+        var finished = save("4712", TransportOrderState.FINISHED);
+        var created = save("4713", TransportOrderState.CREATED);
+
+        // test ...
+        var changed = new TransactionTemplate(transactionManager).execute(status -> bulkTransitions.change(
+                List.of(started.getPk(), finished.getPk(), created.getPk()), TransportOrderState.FINISHED, null));
+
+        // verify ...
+        assertThat(changed).extracting(TransportOrder::getPersistentKey).containsExactly(started.getPersistentKey());
+        assertThat(stateOf(finished)).isEqualTo(TransportOrderState.FINISHED);
+        assertThat(stateOf(created)).isEqualTo(TransportOrderState.CREATED);
+    }
+}
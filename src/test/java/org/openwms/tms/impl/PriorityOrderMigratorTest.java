@@ -0,0 +1,74 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.PriorityLevel;
+import org.openwms.tms.TransportOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A PriorityOrderMigratorTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+class PriorityOrderMigratorTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private PriorityOrderMigrator testee;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransportOrder save(PriorityLevel priority) {
+        var to = new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING);
+        to.setPriority(priority);
+        return repository.save(to);
+    }
+
+    private void setPriorityOrder(TransportOrder to, Integer priorityOrder) {
+        jdbcTemplate.update("update TMS_TRANSPORT_ORDER set C_PRIORITY_ORDER = ? where C_PK = ?", priorityOrder, to.getPk());
+    }
+
+    private Integer priorityOrderOf(TransportOrder to) {
+        return jdbcTemplate.queryForObject("select C_PRIORITY_ORDER from TMS_TRANSPORT_ORDER where C_PK = ?", Integer.class, to.getPk());
+    }
+
+    @Test
+    void shall_backfill_missing_and_stale_priority_orders() {
+        // setup ...
+        var missing = save(PriorityLevel.HIGHEST);
+        var stale = save(PriorityLevel.LOW);
+        var valid = save(PriorityLevel.NORMAL);
+        setPriorityOrder(missing, null);
+        setPriorityOrder(stale, PriorityLevel.HIGH.getOrder());
+
+        // test ...
+        testee.migrate();
+
+        // verify ...
+        assertThat(priorityOrderOf(missing)).isEqualTo(PriorityLevel.HIGHEST.getOrder());
+        assertThat(priorityOrderOf(stale)).isEqualTo(PriorityLevel.LOW.getOrder());
+        assertThat(priorityOrderOf(valid)).isEqualTo(PriorityLevel.NORMAL.getOrder());
+    }
+}
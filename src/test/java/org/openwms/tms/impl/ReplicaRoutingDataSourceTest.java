@@ -0,0 +1,106 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A ReplicaRoutingDataSourceTest uses two embedded H2 databases, one as primary and one as stand-in for the read replica.
+ *
+ * @author Heiko Scherrer
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary", 0);
+        replica = database("replica", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.exitReplicaRead();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    private static EmbeddedDatabase database(String name, int lag) {
+        var db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).setName(name).build();
+        try (var con = db.getConnection(); var stmt = con.createStatement()) {
+            stmt.execute("create table T_DB (C_NAME varchar(20), C_LAG int)");
+            stmt.execute("insert into T_DB values ('%s', %d)".formatted(name, lag));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return db;
+    }
+
+    private static String nameOf(DataSource ds) throws SQLException {
+        try (var con = ds.getConnection(); var stmt = con.createStatement(); var rs = stmt.executeQuery("select C_NAME from T_DB")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private ReplicaRoutingDataSource routing(DataSource replica, String lagQuery, Duration maxLag) {
+        var routing = new ReplicaRoutingDataSource(primary, replica, lagQuery, maxLag);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Test
+    void shall_route_marked_reads_to_replica() throws Exception {
+        var routing = routing(replica, null, Duration.ofSeconds(5));
+        assertThat(nameOf(routing)).isEqualTo("primary");
+
+        ReplicaRoutingDataSource.enterReplicaRead();
+        assertThat(nameOf(routing)).isEqualTo("replica");
+    }
+
+    @Test
+    void shall_fall_back_when_replica_lags() throws Exception {
+        var routing = routing(replica, "select C_LAG from T_DB", Duration.ZERO);
+        routing.checkReplica();
+        assertThat(routing.isReplicaUsable()).isFalse();
+
+        ReplicaRoutingDataSource.enterReplicaRead();
+        assertThat(nameOf(routing)).isEqualTo("primary");
+    }
+
+    @Test
+    void shall_fall_back_when_replica_is_down() throws Exception {
+        var routing = routing(new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/replica"), null, Duration.ofSeconds(5));
+
+        ReplicaRoutingDataSource.enterReplicaRead();
+        assertThat(nameOf(routing)).isEqualTo("primary");
+        assertThat(routing.isReplicaUsable()).isFalse();
+    }
+}
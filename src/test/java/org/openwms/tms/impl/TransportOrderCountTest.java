@@ -0,0 +1,97 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * A TransportOrderCountTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+class TransportOrderCountTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private TransportationService<TransportOrder> testee;
+
+    private void save(TransportOrder to, TransportOrderState state) {
+        to.setState(state);
+        repository.save(to);
+    }
+
+    private void givenOrders() {
+        save(new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING), TransportOrderState.CREATED);
+        save(new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING), TransportOrderState.INITIALIZED);
+        save(new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING), TransportOrderState.STARTED);
+        save(new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING), TransportOrderState.FINISHED);
+        save(new TransportOrder(BC_4711).setTargetLocation(INIT_LOC_STRING), TransportOrderState.STARTED);
+        save(new TransportOrder(BC_4711).setTargetLocationGroup(ERR_LOCGB_STRING), TransportOrderState.STARTED);
+        save(new TransportOrder(BC_4711).setTargetLocationGroup(ERR_LOCGB_STRING), TransportOrderState.CANCELED);
+    }
+
+    @Test
+    void shall_count_per_target_location_and_state() {
+        // setup ...
+        givenOrders();
+
+        // test & verify ...
+        assertThat(repository.countByTargetLocationAndStates(ERR_LOC_STRING, TransportOrderState.STARTED)).isEqualTo(1);
+        assertThat(repository.countByTargetLocationAndStates(ERR_LOC_STRING, TransportOrderState.CREATED,
+                TransportOrderState.INITIALIZED, TransportOrderState.STARTED)).isEqualTo(3);
+        assertThat(repository.countByTargetLocationAndStates(ERR_LOC_STRING, TransportOrderState.CANCELED)).isZero();
+        assertThat(repository.countByTargetLocationAndStates(UNKNOWN, TransportOrderState.STARTED)).isZero();
+    }
+
+    @Test
+    void shall_count_per_target_locationgroup_and_state() {
+        // setup ...
+        givenOrders();
+
+        // test & verify ...
+        assertThat(repository.countByTargetLocationGroupAndStates(ERR_LOCGB_STRING, TransportOrderState.STARTED)).isEqualTo(1);
+        assertThat(repository.countByTargetLocationGroupAndStates(ERR_LOCGB_STRING, TransportOrderState.STARTED,
+                TransportOrderState.CANCELED)).isEqualTo(2);
+        assertThat(repository.countByTargetLocationGroupAndStates(ERR_LOC_STRING, TransportOrderState.STARTED)).isZero();
+    }
+
+    @Test
+    void shall_count_active_orders_to_target_by_default() {
+        // setup ...
+        givenOrders();
+        given(locationApi.findById(ERR_LOC_STRING)).willReturn(Optional.of(ERR_LOC));
+        given(locationGroupApi.findByName(ERR_LOCGB_STRING)).willReturn(Optional.of(ERR_LOCGRB));
+
+        // test & verify ...
+        assertThat(testee.getNoTransportOrdersToTarget(ERR_LOC_STRING)).isEqualTo(3);
+        assertThat(testee.getNoTransportOrdersToTarget(ERR_LOC_STRING, "STARTED", "FINISHED")).isEqualTo(2);
+        assertThat(testee.getNoTransportOrdersToTarget(ERR_LOCGB_STRING)).isEqualTo(1);
+        assertThat(testee.getNoTransportOrdersToTarget(ERR_LOCGB_STRING, "CANCELED")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A TransportOrderCountersTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TransportOrderCountersTest {
+
+    @SuppressWarnings("unchecked")
+    private final TransportOrderRepository<TransportOrder, Long> repository = mock(TransportOrderRepository.class);
+    private final TransportOrderCounters testee = new TransportOrderCounters(repository);
+
+    private static TransportServiceEvent event(String pKey, TransportOrderState state) {
+        var to = new TransportOrder("4711").setTargetLocation("EXT_/0000/0000/0000/0000");
+        to.setPersistentKey(pKey);
+        to.setState(state);
+        return new TransportServiceEvent(to, TransportServiceEvent.TYPE.of(state));
+    }
+
+    @Test
+    void shall_replay_events_committed_during_reconciliation() {
+        // setup ...
+        given(repository.findAllInStates(any(TransportOrderState[].class))).willAnswer(invocation -> {
+            // Committed after the snapshot has been read but before the counters are swapped
+            testee.onEvent(event("TO2", TransportOrderState.STARTED));
+            testee.onEvent(event("TO1", TransportOrderState.FINISHED));
+            return List.of(new ActiveTransportOrder("TO1", "EXT_/0000/0000/0000/0000", null, TransportOrderState.STARTED));
+        });
+
+        // test ...
+        testee.reconcile();
+
+        // verify ...
+        assertThat(testee.count(TransportOrderState.STARTED)).isEqualTo(1);
+        assertThat(testee.count("EXT_/0000/0000/0000/0000", TransportOrderState.STARTED)).isEqualTo(1);
+    }
+
+    @Test
+    void shall_count_events_after_reconciliation() {
+        // setup ...
+        given(repository.findAllInStates(any(TransportOrderState[].class))).willReturn(List.of());
+        testee.reconcile();
+
+        // test ...
+        testee.onEvent(event("TO1", TransportOrderState.INITIALIZED));
+        testee.onEvent(event("TO2", TransportOrderState.INITIALIZED));
+        testee.onEvent(event("TO1", TransportOrderState.STARTED));
+
+        // verify ...
+        assertThat(testee.count(TransportOrderState.INITIALIZED)).isEqualTo(1);
+        assertThat(testee.count("EXT_/0000/0000/0000/0000", TransportOrderState.INITIALIZED, TransportOrderState.STARTED)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A TransportOrderDispatchQueuesTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+@TestPropertySource(properties = "owms.tms.dispatch-queues.enabled=true")
+class TransportOrderDispatchQueuesTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportOrderDispatchQueues testee;
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private TransportationService<TransportOrder> service;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransportOrder saveInitialized(String transportUnitBK) {
+        var to = new TransportOrder(transportUnitBK).setTargetLocation(ERR_LOC_STRING);
+        to.setState(TransportOrderState.INITIALIZED);
+        return repository.save(to);
+    }
+
+    @Test
+    void shall_queue_initialized_ones_in_sync_with_database() throws Exception {
+        // setup ...
+        postTOAndValidate(createTO(), NOTLOGGED);
+        postTOAndValidate(createTO(), NOTLOGGED);
+
+        // test ...
+        var queued = testee.getQueues().get(BC_4711);
+
+        // verify ...
+        var initialized = repository.findByTransportUnitBKAndStates(BC_4711, TransportOrderState.INITIALIZED);
+        assertThat(initialized).hasSize(1);
+        assertThat(queued).containsExactly(initialized.getFirst().getPersistentKey());
+        assertThat(testee.isTracked(BC_4711)).isTrue();
+        assertThat(testee.check()).isEmpty();
+    }
+
+    @Test
+    void shall_queue_in_the_order_of_the_database() {
+        // setup ...
+        saveInitialized(BC_4711);
+        saveInitialized(BC_4711);
+        saveInitialized(BC_4711);
+
+        // test ...
+        testee.rebuild(BC_4711, repository.findByTransportUnitBKAndStates(BC_4711, TransportOrderState.INITIALIZED));
+
+        // verify ...
+        assertThat(testee.peek(BC_4711)).isEqualTo(repository.findNextToStart(BC_4711, TransportOrderState.INITIALIZED).map(TransportOrder::getPk));
+        assertThat(testee.getQueues().get(BC_4711)).containsExactlyElementsOf(
+                repository.findByTransportUnitBKAndStates(BC_4711, TransportOrderState.INITIALIZED).stream().map(TransportOrder::getPersistentKey).toList());
+    }
+
+    @Test
+    void shall_untrack_the_queue_on_rollback() {
+        // setup ...
+        assertThat(testee.isTracked(BC_4711)).isTrue();
+
+        // test ...
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            testee.apply(saveInitialized(BC_4711));
+            status.setRollbackOnly();
+        });
+
+        // verify ...
+        assertThat(testee.isTracked(BC_4711)).isFalse();
+    }
+
+    @Test
+    void shall_detect_queues_that_diverge_from_the_database() {
+        // setup ...
+        saveInitialized(BC_4711);
+        var unsaved = new TransportOrder("4712");
+        unsaved.setPersistentKey("UNSAVED");
+        unsaved.setState(TransportOrderState.INITIALIZED);
+        testee.apply(unsaved);
+
+        // test ...
+        var diverging = testee.check();
+
+        // verify ...
+        assertThat(diverging).containsExactly("4711", "4712");
+        assertThat(testee.isTracked(BC_4711)).isFalse();
+        assertThat(testee.isTracked("4712")).isFalse();
+    }
+
+    @Test
+    void shall_rebuild_a_stale_queue_before_starting_the_next() throws Exception {
+        // setup ...
+        var started = createTO();
+        postTOAndValidate(started, NOTLOGGED);
+        var stale = createTO();
+        postTOAndValidate(stale, NOTLOGGED);
+        var next = createTO();
+        postTOAndValidate(next, NOTLOGGED);
+        // the head of the queue is canceled behind the back of the registry
+        var head = repository.findBypKey(stale.getpKey()).orElseThrow();
+        head.setState(TransportOrderState.CANCELED);
+        repository.save(head);
+        assertThat(testee.getQueues().get(BC_4711)).containsExactly(stale.getpKey(), next.getpKey());
+
+        // test ...
+        service.change(TransportOrderState.FINISHED, List.of(started.getpKey()));
+
+        // verify ...
+        assertThat(repository.findBypKey(next.getpKey()).map(TransportOrder::getState)).contains(TransportOrderState.STARTED);
+        assertThat(testee.getQueues()).doesNotContainKey(BC_4711);
+        assertThat(testee.isTracked(BC_4711)).isTrue();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl;
+
+import org.ameba.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.PriorityLevel;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderFinder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.api.TransportOrderVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * A TransportOrderFinderTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+class TransportOrderFinderTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private TransportOrderFinder testee;
+    @MockitoBean
+    private TransportOrderArchive archive;
+
+    private TransportOrder save(PriorityLevel priority, TransportOrderState state) {
+        var to = new TransportOrder(BC_4711)
+                .setSourceLocation(INIT_LOC_STRING)
+                .setTargetLocation(ERR_LOC_STRING)
+                .setTargetLocationGroup(ERR_LOCGB_STRING);
+        to.setPriority(priority);
+        to.setState(state);
+        return repository.save(to);
+    }
+
+    @Test
+    void shall_project_by_pKey() {
+        // setup ...
+        var to = save(PriorityLevel.HIGHEST, TransportOrderState.STARTED);
+
+        // test ...
+        var vo = testee.findByPKey(to.getPersistentKey());
+
+        // verify ...
+        assertThat(vo.getId()).isEqualTo(to.getPersistentKey());
+        assertThat(vo.getTransportUnitId()).isEqualTo(BC_4711);
+        assertThat(vo.getState()).isEqualTo(TransportOrderState.STARTED.name());
+        assertThat(vo.getPriority()).isEqualTo(PriorityLevel.HIGHEST.name());
+        assertThat(vo.getSourceLocation()).isEqualTo(INIT_LOC_STRING);
+        assertThat(vo.getTargetLocation()).isEqualTo(ERR_LOC_STRING);
+        assertThat(vo.getTargetLocationGroup()).isEqualTo(ERR_LOCGB_STRING);
+    }
+
+    @Test
+    void shall_project_by_barcode_and_states_in_priority_order() {
+        // setup ...
+        var low = save(PriorityLevel.LOW, TransportOrderState.INITIALIZED);
+        var high = save(PriorityLevel.HIGH, TransportOrderState.INITIALIZED);
+        save(PriorityLevel.HIGHEST, TransportOrderState.FINISHED);
+
+        // test ...
+        var vos = testee.findBy(BC_4711, TransportOrderState.INITIALIZED.name(), TransportOrderState.STARTED.name());
+
+        // verify ...
+        assertThat(vos).extracting(TransportOrderVO::getId).containsExactly(high.getPersistentKey(), low.getPersistentKey());
+    }
+
+    @Test
+    void shall_fall_back_to_the_archive() {
+        // setup ...
+        var archived = new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING);
+        archived.setPersistentKey("ARCHIVED");
+        archived.setState(TransportOrderState.FINISHED);
+        given(archive.findBypKey("ARCHIVED")).willReturn(Optional.of(archived));
+
+        // test ...
+        var vo = testee.findByPKey("ARCHIVED");
+
+        // verify ...
+        assertThat(vo.getId()).isEqualTo("ARCHIVED");
+        assertThat(vo.getState()).isEqualTo(TransportOrderState.FINISHED.name());
+        assertThat(vo.getTargetLocation()).isEqualTo(ERR_LOC_STRING);
+    }
+
+    @Test
+    void shall_throw_if_neither_live_nor_archived() {
+        // test & verify ...
+        assertThatThrownBy(() -> testee.findByPKey(UNKNOWN)).isInstanceOf(NotFoundException.class);
+    }
+}
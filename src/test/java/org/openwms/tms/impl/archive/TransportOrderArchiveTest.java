@@ -0,0 +1,115 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.archive;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.TransitionJournal;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.api.TMSApi;
+import org.openwms.tms.api.TransitionVO;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A TransportOrderArchiveTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+@TestPropertySource(properties = {"owms.tms.archive.enabled=true", "owms.tms.journal.enabled=true"})
+class TransportOrderArchiveTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportOrderArchiveImpl testee;
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private TransitionJournal journal;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransportOrder saveFinished() {
+        var to = new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING);
+        to.setState(TransportOrderState.FINISHED);
+        to.setEndDate(Date.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+        var saved = repository.save(to);
+        journal.record(saved, TransportOrderState.STARTED, TransportOrderState.FINISHED, null);
+        return saved;
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+
+    @Test
+    void shall_archive_in_chunks_and_read_back() throws Exception {
+        // setup ...
+        var finished = new ArrayList<TransportOrder>();
+        for (var i = 0; i < 3; i++) {
+            finished.add(saveFinished());
+        }
+        var active = new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING);
+        repository.save(active);
+
+        // test ...
+        // each chunk commits on its own, even if the caller's transaction is rolled back afterwards
+        var moved = new ArrayList<Integer>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            moved.add(testee.archive(new Date(), 2));
+            moved.add(testee.archive(new Date(), 2));
+            moved.add(testee.archive(new Date(), 2));
+            status.setRollbackOnly();
+        });
+
+        // verify ...
+        assertThat(moved).containsExactly(2, 1, 0);
+        assertThat(repository.findBypKey(active.getPersistentKey())).isPresent();
+        assertThat(count("TMS_TRANSPORT_ORDER_ARCHIVE")).isEqualTo(3);
+        // The journal is append-only and keeps the transitions of archived orders
+        assertThat(count("TMS_TO_JOURNAL")).isEqualTo(3);
+        var transitions = new ArrayList<TransitionVO>();
+        journal.stream(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), transitions::add);
+        assertThat(transitions).extracting(TransitionVO::getPersistentKey)
+                .containsExactlyInAnyOrderElementsOf(finished.stream().map(TransportOrder::getPersistentKey).toList());
+        for (var to : finished) {
+            assertThat(repository.findBypKey(to.getPersistentKey())).isEmpty();
+            assertThat(testee.findBypKey(to.getPersistentKey())).isPresent();
+            mockMvc.perform(get(TMSApi.TRANSPORT_ORDERS + "/" + to.getPersistentKey()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.state").value(TransportOrderState.FINISHED.name()));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.lease;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.StateChangeException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A TransportUnitLeasesImplTest.
+ *
+ * @author Heiko Scherrer
+ */
+@TestPropertySource(properties = {"owms.tms.leases.enabled=true", "owms.tms.leases.owner=node-a"})
+class TransportUnitLeasesImplTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportUnitLeaseRepository repository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransportUnitLeasesImpl node(String owner, Duration ttl) {
+        return new TransportUnitLeasesImpl(repository, transactionManager, owner, ttl);
+    }
+
+    private TransactionTemplate requiresNew() {
+        var template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    @Test
+    void shall_grant_lease_to_one_instance_only() {
+        // setup ...
+        var nodeA = node("node-a", Duration.ofSeconds(30));
+        var nodeB = node("node-b", Duration.ofSeconds(30));
+        var tx = new TransactionTemplate(transactionManager);
+
+        // test ...
+        var tokenA = tx.execute(status -> {
+            var token = nodeA.acquire("LEASE_1");
+            assertThat(nodeA.acquire("LEASE_1")).isEqualTo(token);
+            assertThatThrownBy(() -> requiresNew().execute(s -> nodeB.acquire("LEASE_1")))
+                    .isInstanceOf(StateChangeException.class);
+            return token;
+        });
+
+        // verify ...
+        var tokenB = tx.execute(status -> nodeB.acquire("LEASE_1"));
+        assertThat(tokenB).isGreaterThan(tokenA);
+    }
+
+    @Test
+    void shall_reject_other_transaction_of_same_instance() {
+        // setup ...
+        var nodeA = node("node-a", Duration.ofSeconds(30));
+        var tx = new TransactionTemplate(transactionManager);
+
+        // test ...
+        var first = tx.execute(status -> {
+            var token = nodeA.acquire("LEASE_3");
+            assertThatThrownBy(() -> requiresNew().execute(s -> nodeA.acquire("LEASE_3")))
+                    .isInstanceOf(StateChangeException.class);
+            return token;
+        });
+
+        // verify ...
+        var second = tx.execute(status -> nodeA.acquire("LEASE_3"));
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void shall_require_transaction() {
+        assertThatThrownBy(() -> node("node-a", Duration.ofSeconds(30)).acquire("LEASE_4"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shall_fence_off_expired_owner() {
+        // setup ...
+        var nodeA = node("node-a", Duration.ofMillis(1));
+        var nodeB = node("node-b", Duration.ofSeconds(30));
+        var tx = new TransactionTemplate(transactionManager);
+
+        // test & verify ...
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+            nodeA.acquire("LEASE_2");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            requiresNew().executeWithoutResult(s -> nodeB.acquire("LEASE_2"));
+        })).isInstanceOf(StateChangeException.class);
+    }
+}
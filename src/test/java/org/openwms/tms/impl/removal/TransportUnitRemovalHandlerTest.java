@@ -0,0 +1,67 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.removal;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.common.transport.api.commands.TUCommand;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A TransportUnitRemovalHandlerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TransportUnitRemovalHandlerTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportUnitRemovalHandler testee;
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void shall_cancel_all_with_one_batched_flush() throws Exception {
+        // setup ...
+        postTOAndValidate(createTO(), NOTLOGGED);
+        postTOAndValidate(createTO(), NOTLOGGED);
+        var command = mock(TUCommand.class, RETURNS_DEEP_STUBS);
+        given(command.getTransportUnit().getBarcode()).willReturn(BC_4711);
+        var statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // test ...
+        testee.preRemove(command);
+
+        // verify ...
+        assertThat(repository.findByTransportUnitBKAndStates(BC_4711, TransportOrderState.CANCELED)).hasSize(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        // one query to load the orders of the TransportUnit and one batched update statement
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openwms.tms.api.requests.state.StateChangeRequest;
+import org.openwms.tms.api.requests.state.StateChangeRequests;
+import org.springframework.amqp.core.AmqpTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * An AmqpStartRequestForwarderTest.
+ *
+ * @author Heiko Scherrer
+ */
+class AmqpStartRequestForwarderTest {
+
+    private final AmqpTemplate amqpTemplate = mock(AmqpTemplate.class);
+
+    @Test
+    void shall_send_full_batches_and_flush_the_rest_after_window() {
+        // setup ...
+        var testee = new AmqpStartRequestForwarder("tms.requests", amqpTemplate, mock(PendingStartRequests.class), 3, Duration.ofMillis(100));
+
+        // test ...
+        for (var i = 0; i < 7; i++) {
+            testee.request("TO" + i);
+        }
+
+        // verify ...
+        var captor = ArgumentCaptor.forClass(Object.class);
+        verify(amqpTemplate, timeout(2000).times(3)).convertAndSend(eq("tms.requests"), eq("request.state.changes"), captor.capture());
+        assertThat(captor.getAllValues())
+                .map(batch -> ((StateChangeRequests) batch).getRequests().stream().map(StateChangeRequest::getTransportOrderPkey).toList())
+                .containsExactly(
+                        List.of("TO0", "TO1", "TO2"),
+                        List.of("TO3", "TO4", "TO5"),
+                        List.of("TO6")
+                );
+        testee.shutdown();
+    }
+
+    @Test
+    void shall_send_each_request_without_batching() {
+        // setup ...
+        var testee = new AmqpStartRequestForwarder("tms.requests", amqpTemplate, mock(PendingStartRequests.class), 1, Duration.ofMillis(100));
+
+        // test ...
+        testee.request("TO1");
+        testee.request("TO2");
+
+        // verify ...
+        verify(amqpTemplate, times(2)).convertAndSend(eq("tms.requests"), eq("request.state.change"), any(StateChangeRequest.class));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportationService;
+import org.openwms.tms.api.requests.state.StateChangeRequest;
+import org.openwms.tms.api.requests.state.StateChangeResponse;
+import org.openwms.tms.api.requests.state.StateChangeResponses;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * An AmqpStateListenerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class AmqpStateListenerTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AmqpStateListenerTest.class);
+    private final Startable starter = mock(Startable.class);
+    private final PendingStartRequests pendingStartRequests = mock(PendingStartRequests.class);
+    @SuppressWarnings("unchecked")
+    private final AmqpStateListener testee = new AmqpStateListener(starter, mock(TransportationService.class),
+            mock(TransportOrderRepository.class), new NoOpTransactionManager(), pendingStartRequests);
+
+    /**
+     * Runs the synchronizations like a real transaction manager, without any resource.
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static StateChangeResponses accepted(String... pKeys) {
+        var responses = new ArrayList<StateChangeResponse>(pKeys.length);
+        for (var pKey : pKeys) {
+            responses.add(new StateChangeResponse(new StateChangeRequest(pKey, "STARTED"), "STARTED", null));
+        }
+        return new StateChangeResponses(responses);
+    }
+
+    @Test
+    void shall_untrack_requests_after_commit() {
+        // setup ...
+        given(starter.startAll(List.of("TO1", "TO2"))).willReturn(Map.of());
+
+        // test ...
+        testee.onResponses(accepted("TO1", "TO2"));
+
+        // verify ...
+        var order = inOrder(starter, pendingStartRequests);
+        order.verify(starter).startAll(List.of("TO1", "TO2"));
+        order.verify(pendingStartRequests).answered("TO1");
+        order.verify(pendingStartRequests).answered("TO2");
+    }
+
+    @Test
+    void shall_apply_one_by_one_when_batch_fails() {
+        // setup ...
+        given(starter.startAll(List.of("TO1", "TO2"))).willThrow(new IllegalStateException("Batch failed"));
+        given(starter.startAll(List.of("TO1"))).willReturn(Map.of());
+        given(starter.startAll(List.of("TO2"))).willThrow(new IllegalStateException("TO2 failed"));
+
+        // test ...
+        testee.onResponses(accepted("TO1", "TO2"));
+
+        // verify ...
+        verify(pendingStartRequests).answered("TO1");
+        verify(pendingStartRequests, never()).answered("TO2");
+    }
+
+    @Test
+    void shall_measure_batched_responses() {
+        // setup ...
+        given(starter.startAll(anyCollection())).willReturn(Map.of());
+        var batches = 100;
+        var batchSize = 100;
+        var payloads = IntStream.range(0, batches)
+                .mapToObj(b -> accepted(IntStream.range(0, batchSize).mapToObj(i -> "TO" + b + "_" + i).toArray(String[]::new)))
+                .toList();
+
+        // test ...
+        var start = System.nanoTime();
+        payloads.forEach(testee::onResponses);
+        var micros = Math.max(1, (System.nanoTime() - start) / 1_000);
+
+        // verify ...
+        LOGGER.info("Applied [{}] batches of [{}] StateChangeResponses, [{}] us per batch, [{}] responses/s", batches, batchSize,
+                micros / batches, batches * batchSize * 1_000_000L / micros);
+        verify(pendingStartRequests, times(batches * batchSize)).answered(any());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openwms.tms.StateChangeException;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A CapacityDispatcherTest.
+ *
+ * @author Heiko Scherrer
+ */
+class CapacityDispatcherTest {
+
+    @SuppressWarnings("unchecked")
+    private final TransportOrderRepository<TransportOrder, Long> repository = mock(TransportOrderRepository.class);
+    private final Startable startable = mock(Startable.class);
+    private final TargetLocks targetLocks = mock(TargetLocks.class);
+    private final CapacityDispatcher testee = new CapacityDispatcher(repository, startable, targetLocks,
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), "FGIN=2,FGOUT=1,ERR=1");
+
+    private static TransportOrder to(String targetLocationGroup) {
+        var to = new TransportOrder("4711");
+        to.setTargetLocationGroup(targetLocationGroup);
+        return to;
+    }
+
+    private void givenStarted(String target, int started) {
+        given(repository.countByTargetLocationGroupAndStates(target, TransportOrderState.STARTED)).willReturn(started);
+    }
+
+    @Test
+    void shall_start_below_the_limit() {
+        // setup ...
+        givenStarted("FGIN", 1);
+
+        // test ...
+        testee.acquire(to("FGIN"));
+
+        // verify ...
+        verify(targetLocks).lock(List.of("FGIN"));
+    }
+
+    @Test
+    void shall_hold_back_at_the_limit() {
+        // setup ...
+        givenStarted("FGIN", 2);
+
+        // test & verify ...
+        assertThatThrownBy(() -> testee.acquire(to("FGIN"))).isInstanceOf(StateChangeException.class);
+        verify(targetLocks).lock(List.of("FGIN"));
+    }
+
+    @Test
+    void shall_not_lock_unlimited_targets() {
+        // test ...
+        testee.acquire(to("UNLIMITED"));
+
+        // verify ...
+        verify(targetLocks, never()).lock(any());
+    }
+
+    @Test
+    void shall_release_held_back_orders_on_finished_and_canceled() {
+        // setup ...
+        givenStarted("FGIN", 1);
+        given(repository.findNextToTarget("FGIN", TransportOrderState.INITIALIZED, 2)).willReturn(List.of("1000"), List.of("1001"));
+        given(startable.startAll(any())).willReturn(Map.of());
+
+        // test ...
+        testee.onEvent(new TransportServiceEvent(to("FGIN"), TransportServiceEvent.TYPE.TRANSPORT_FINISHED));
+        testee.onEvent(new TransportServiceEvent(to("FGIN"), TransportServiceEvent.TYPE.TRANSPORT_CANCELED));
+        testee.onEvent(new TransportServiceEvent(to("FGIN"), TransportServiceEvent.TYPE.STARTED));
+
+        // verify ...
+        verify(startable).startAll(List.of("1000"));
+        verify(startable).startAll(List.of("1001"));
+        verify(repository, times(2)).findNextToTarget(eq("FGIN"), eq(TransportOrderState.INITIALIZED), anyInt());
+    }
+
+    @Test
+    void shall_rotate_the_first_target_on_each_sweep() {
+        // setup ...
+        var visited = new ArrayList<String>();
+        given(repository.findNextToTarget(anyString(), eq(TransportOrderState.INITIALIZED), anyInt())).willAnswer(i -> {
+            visited.add(i.getArgument(0));
+            return List.of();
+        });
+
+        // test ...
+        testee.sweep();
+        testee.sweep();
+        testee.sweep();
+
+        // verify ...
+        assertThat(visited).containsExactly(
+                "FGIN", "FGOUT", "ERR",
+                "FGOUT", "ERR", "FGIN",
+                "ERR", "FGIN", "FGOUT");
+    }
+}
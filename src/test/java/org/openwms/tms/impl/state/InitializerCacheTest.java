@@ -0,0 +1,87 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.common.location.api.LocationVO;
+import org.openwms.common.transport.api.TransportUnitVO;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * An InitializerCacheTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+@TestPropertySource(properties = "owms.tms.initializer.location-cache.ttl=PT1M")
+class InitializerCacheTest extends TransportationTestBase {
+
+    private static final int NO_TRANSPORT_UNITS = 10;
+    private static final int NO_ORDERS_PER_TRANSPORT_UNIT = 3;
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private ApplicationContext ctx;
+
+    private void givenTransportUnit(String barcode) {
+        var actualLocation = new LocationVO(INIT_LOC_STRING);
+        actualLocation.setIncomingActive(true);
+        actualLocation.setOutgoingActive(true);
+        var tu = new TransportUnitVO(barcode);
+        tu.setActualLocation(actualLocation);
+        given(transportUnitApi.findTransportUnit(barcode)).willReturn(tu);
+    }
+
+    @Test
+    void shall_lookup_each_TU_once_within_a_burst() {
+        // setup ...
+        createTO();
+        for (var i = 0; i < NO_TRANSPORT_UNITS; i++) {
+            givenTransportUnit("TU" + i);
+        }
+
+        // test ...
+        // Each order is created and initialized on its own, like a burst of single create requests
+        for (var round = 0; round < NO_ORDERS_PER_TRANSPORT_UNIT; round++) {
+            for (var i = 0; i < NO_TRANSPORT_UNITS; i++) {
+                var to = repository.save(new TransportOrder("TU" + i).setTargetLocation(ERR_LOC_STRING));
+                ctx.publishEvent(new TransportServiceEvent(to, TransportServiceEvent.TYPE.TRANSPORT_CREATED));
+            }
+        }
+
+        // verify ...
+        for (var i = 0; i < NO_TRANSPORT_UNITS; i++) {
+            verify(transportUnitApi, times(1)).findTransportUnit("TU" + i);
+            assertThat(repository.findByTransportUnitBKAndStates("TU" + i, TransportOrderState.CREATED)).isEmpty();
+            assertThat(repository.findByTransportUnitBKAndStates("TU" + i, TransportOrderState.INITIALIZED, TransportOrderState.STARTED))
+                    .hasSize(NO_ORDERS_PER_TRANSPORT_UNIT)
+                    .allMatch(to -> INIT_LOC_STRING.equals(to.getSourceLocation()));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * An InitializerTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+class InitializerTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private ApplicationContext ctx;
+
+    @Test
+    void shall_lookup_TU_once_for_all_orders() {
+        // setup ...
+        createTO();
+        var first = repository.save(new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING));
+        repository.save(new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING));
+        repository.save(new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING));
+
+        // test ...
+        ctx.publishEvent(new TransportServiceEvent(first, TransportServiceEvent.TYPE.TRANSPORT_CREATED));
+
+        // verify ...
+        verify(transportUnitApi, times(1)).findTransportUnit(BC_4711);
+        assertThat(repository.findByTransportUnitBKAndStates(BC_4711, TransportOrderState.CREATED)).isEmpty();
+        assertThat(repository.findByTransportUnitBKAndStates(BC_4711, TransportOrderState.INITIALIZED, TransportOrderState.STARTED))
+                .hasSize(3)
+                .allMatch(to -> INIT_LOC_STRING.equals(to.getSourceLocation()));
+    }
+}
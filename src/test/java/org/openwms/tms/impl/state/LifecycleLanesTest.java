@@ -0,0 +1,174 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportServiceEvent;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A LifecycleLanesTest.
+ *
+ * @author Heiko Scherrer
+ */
+class LifecycleLanesTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final TransportOrderRepository<TransportOrder, Long> repository = mock(TransportOrderRepository.class);
+    private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    private LifecycleLanes testee;
+
+    private LifecycleLanes lanes(ApplicationEventPublisher publisher, int lanes, int capacity) {
+        testee = new LifecycleLanes(publisher, meterRegistry, repository, lanes, capacity, 3, Duration.ofMillis(10), false, 100);
+        return testee;
+    }
+
+    private static TransportServiceEvent event(String pKey, TransportServiceEvent.TYPE type) {
+        var to = new TransportOrder("4711");
+        to.setPersistentKey(pKey);
+        return new TransportServiceEvent(to, type);
+    }
+
+    private static String pKeyOf(Object event) {
+        return ((LifecycleLanes.Deferred) event).event().getSource().getPersistentKey();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testee.shutdown();
+    }
+
+    @Test
+    void shall_process_events_of_one_TU_in_order() throws Exception {
+        // setup ...
+        var done = new CountDownLatch(200);
+        var lanes = lanes(event -> {
+            processed.add(pKeyOf(event));
+            done.countDown();
+        }, 4, 1000);
+        var expected = new ArrayList<String>();
+
+        // test ...
+        for (var i = 0; i < 200; i++) {
+            expected.add("TO" + i);
+            lanes.onEvent(event("TO" + i, TransportServiceEvent.TYPE.INITIALIZED));
+        }
+
+        // verify ...
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(processed).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shall_retry_transient_failures() throws Exception {
+        // setup ...
+        var attempts = new AtomicInteger();
+        var done = new CountDownLatch(1);
+        var lanes = lanes(event -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("Locked");
+            }
+            processed.add(pKeyOf(event));
+            done.countDown();
+        }, 1, 10);
+
+        // test ...
+        lanes.onEvent(event("TO1", TransportServiceEvent.TYPE.TRANSPORT_CREATED));
+
+        // verify ...
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(processed).containsExactly("TO1");
+        assertThat(meterRegistry.counter("owms.tms.lifecycle.retries").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("owms.tms.lifecycle.failures").count()).isZero();
+    }
+
+    @Test
+    void shall_reject_without_blocking_when_at_capacity() throws Exception {
+        // setup ...
+        var processing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var done = new CountDownLatch(2);
+        var lanes = lanes(event -> {
+            processing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processed.add(pKeyOf(event));
+            done.countDown();
+        }, 1, 1);
+        lanes.onEvent(event("TO1", TransportServiceEvent.TYPE.INITIALIZED));
+        assertThat(processing.await(10, TimeUnit.SECONDS)).isTrue();
+        lanes.onEvent(event("TO2", TransportServiceEvent.TYPE.INITIALIZED));
+
+        // test ...
+        var start = System.nanoTime();
+        lanes.onEvent(event("TO3", TransportServiceEvent.TYPE.INITIALIZED));
+
+        // verify ...
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.counter("owms.tms.lifecycle.rejected").count()).isEqualTo(1);
+        release.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(processed).containsExactly("TO1", "TO2");
+    }
+
+    @Test
+    void shall_recover_TUs_waiting_since_previous_run() throws Exception {
+        // setup ...
+        var done = new CountDownLatch(1);
+        var lanes = lanes(event -> {
+            processed.add(((LifecycleLanes.Deferred) event).event().getType() + ":" + pKeyOf(event));
+            done.countDown();
+        }, 1, 10);
+        var created = new TransportOrder("4711");
+        created.setPersistentKey("TO1");
+        given(repository.findTransportUnitBKsInState(TransportOrderState.CREATED, 100)).willReturn(List.of("4711"));
+        given(repository.findTransportUnitBKsToStart(100)).willReturn(List.of());
+        given(repository.findNextToStart("4711", TransportOrderState.CREATED)).willReturn(Optional.of(created));
+
+        // test ...
+        lanes.recover();
+        assertThat(meterRegistry.counter("owms.tms.lifecycle.recovered").count()).isZero();
+        lanes.recover();
+
+        // verify ...
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(processed).containsExactly("TRANSPORT_CREATED:TO1");
+        assertThat(meterRegistry.counter("owms.tms.lifecycle.recovered").count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.TransportationService;
+import org.openwms.tms.impl.TransportOrderRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A PendingStartRequestsTest.
+ *
+ * @author Heiko Scherrer
+ */
+class PendingStartRequestsTest {
+
+    @SuppressWarnings("unchecked")
+    private final TransportOrderRepository<TransportOrder, Long> repository = mock(TransportOrderRepository.class);
+    @SuppressWarnings("unchecked")
+    private final TransportationService<TransportOrder> service = mock(TransportationService.class);
+    private final ExternalStarter externalStarter = mock(ExternalStarter.class);
+    private final PendingStartRequests testee = new PendingStartRequests(repository, service, externalStarter, new SimpleMeterRegistry(),
+            Duration.ofMillis(50), 2, Duration.ofMillis(10), 64);
+
+    @Test
+    void shall_keep_the_age_of_a_request_sent_again_and_fail_after_max_requests() throws Exception {
+        // setup ...
+        var to = new TransportOrder("4711");
+        to.setState(TransportOrderState.INITIALIZED);
+        given(repository.findBypKey("TO1")).willReturn(Optional.of(to));
+        // the forwarder tracks each request it sends
+        willAnswer(i -> {
+            testee.track(i.getArgument(0));
+            return null;
+        }).given(externalStarter).request("TO1");
+        testee.track("TO1");
+
+        // test ...
+        Thread.sleep(100);
+        testee.expire();
+
+        // verify ...
+        verify(externalStarter).request("TO1");
+        verify(service, never()).change(TransportOrderState.ONFAILURE, List.of("TO1"));
+        assertThat(testee.size()).isEqualTo(1);
+        assertThat(testee.oldestAge()).as("The age of the first request is kept").isGreaterThanOrEqualTo(100);
+
+        // test ...
+        Thread.sleep(100);
+        testee.expire();
+
+        // verify ...
+        verify(service).change(TransportOrderState.ONFAILURE, List.of("TO1"));
+        assertThat(testee.size()).isZero();
+        assertThat(testee.oldestAge()).isZero();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.tms.PriorityLevel;
+import org.openwms.tms.StateChangeException;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A StartClaimTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+class StartClaimTest extends TransportationTestBase {
+
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+    @Autowired
+    private StartClaimGuard startClaimGuard;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransportOrder save(String transportUnitBK, TransportOrderState state) {
+        var to = new TransportOrder(transportUnitBK).setTargetLocation(ERR_LOC_STRING);
+        to.setState(state);
+        return repository.save(to);
+    }
+
+    @Test
+    void shall_claim_one_start_per_TU() {
+        // setup ...
+        var first = save(BC_4711, TransportOrderState.INITIALIZED);
+        var second = save(BC_4711, TransportOrderState.INITIALIZED);
+        var other = save("4712", TransportOrderState.INITIALIZED);
+
+        // test & verify ...
+        assertThat(repository.claimStart(first.getPk())).isEqualTo(1);
+        assertThat(repository.claimStart(second.getPk())).isZero();
+        assertThat(repository.claimStart(other.getPk())).isEqualTo(1);
+        assertThat(repository.claimStart(first.getPk())).as("Claiming again is idempotent").isEqualTo(1);
+    }
+
+    @Test
+    void shall_enforce_one_started_order_per_TU() {
+        // setup ...
+        var first = save(BC_4711, TransportOrderState.STARTED);
+        first.setTransportUnitBK(BC_4711);
+        repository.save(first);
+        var second = new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING);
+        second.setState(TransportOrderState.STARTED);
+        second.setTransportUnitBK(BC_4711);
+
+        // test & verify ...
+        assertThatThrownBy(() -> repository.save(second)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shall_backfill_the_started_TU_once() {
+        // setup ...
+        save(BC_4711, TransportOrderState.STARTED);
+        save(BC_4711, TransportOrderState.STARTED);
+        save("4712", TransportOrderState.STARTED);
+        var initialized = save(BC_4711, TransportOrderState.INITIALIZED);
+
+        // test ...
+        var backfilled = repository.backfillStartedTransportUnits();
+
+        // verify ...
+        assertThat(backfilled).as("The first started order of each TU is backfilled").isEqualTo(2);
+        assertThat(repository.backfillStartedTransportUnits()).isZero();
+        assertThat(repository.claimStart(initialized.getPk())).isZero();
+    }
+
+    @Test
+    void shall_keep_the_transaction_usable_if_a_concurrent_start_wins() throws Exception {
+        // setup ...
+        var first = save(BC_4711, TransportOrderState.INITIALIZED);
+        var second = save(BC_4711, TransportOrderState.INITIALIZED);
+        var other = save("4712", TransportOrderState.INITIALIZED);
+        var claimed = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        var concurrent = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            startClaimGuard.check(TransportOrderState.STARTED, repository.findById(first.getPk()).orElseThrow());
+            claimed.countDown();
+            try {
+                // Commit while the other transaction is waiting on the unique constraint
+                TimeUnit.MILLISECONDS.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        // test ...
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var unrelated = repository.findById(other.getPk()).orElseThrow();
+            unrelated.setPriority(PriorityLevel.HIGHEST);
+            repository.save(unrelated);
+            var loser = repository.findById(second.getPk()).orElseThrow();
+            assertThatThrownBy(() -> startClaimGuard.check(TransportOrderState.STARTED, loser))
+                    .isInstanceOf(StateChangeException.class);
+        });
+        concurrent.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // verify ...
+        assertThat(repository.findById(other.getPk()).orElseThrow().getPriority()).isEqualTo(PriorityLevel.HIGHEST);
+        assertThat(repository.claimStart(first.getPk())).isEqualTo(1);
+        assertThat(repository.claimStart(second.getPk())).isZero();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.TransportationTestBase;
+import org.openwms.common.location.api.LocationVO;
+import org.openwms.tms.StateChangeException;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.impl.TransportOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * A StarterTest.
+ *
+ * @author Heiko Scherrer
+ */
+@Sql(scripts = "classpath:delete-all.sql")
+class StarterTest extends TransportationTestBase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StarterTest.class);
+    @Autowired
+    private Startable testee;
+    @Autowired
+    private TransportOrderRepository<TransportOrder, Long> repository;
+
+    private TransportOrderState stateOf(String pKey) {
+        return repository.findBypKey(pKey).map(TransportOrder::getState).orElseThrow();
+    }
+
+    private String saveInitialized(String transportUnitBK, String targetLocation) {
+        var to = new TransportOrder(transportUnitBK).setTargetLocation(targetLocation).setSourceLocation(INIT_LOC_STRING);
+        to.setState(TransportOrderState.INITIALIZED);
+        return repository.save(to).getPersistentKey();
+    }
+
+    @Test
+    void shall_start_created_order() throws Exception {
+        // setup ...
+        var vo = createTO();
+
+        // test ...
+        postTOAndValidate(vo, NOTLOGGED);
+
+        // verify ...
+        assertThat(stateOf(vo.getpKey())).isEqualTo(TransportOrderState.STARTED);
+    }
+
+    @Test
+    void shall_report_orders_that_cannot_be_started() throws Exception {
+        // setup ...
+        var first = createTO();
+        postTOAndValidate(first, NOTLOGGED);
+        var second = createTO();
+        postTOAndValidate(second, NOTLOGGED);
+
+        // test ...
+        var failures = testee.startAll(List.of(second.getpKey(), "UNKNOWN"));
+
+        // verify ...
+        assertThat(failures).containsOnlyKeys(second.getpKey(), "UNKNOWN");
+        assertThat(stateOf(first.getpKey())).isEqualTo(TransportOrderState.STARTED);
+        assertThat(stateOf(second.getpKey())).isEqualTo(TransportOrderState.INITIALIZED);
+    }
+
+    @Test
+    void shall_start_valid_orders_and_report_the_others() {
+        // setup ...
+        createTO();
+        var blockedLocation = new LocationVO("BLCK/0000/0000/0000/0000");
+        blockedLocation.setIncomingActive(false);
+        given(locationApi.findById(blockedLocation.getLocationId())).willReturn(Optional.of(blockedLocation));
+        var valid = saveInitialized(BC_4711, ERR_LOC_STRING);
+        var blocked = saveInitialized("4712", blockedLocation.getLocationId());
+        var noTarget = saveInitialized("4713", UNKNOWN);
+        var alreadyStarted = new TransportOrder("4714").setTargetLocation(ERR_LOC_STRING);
+        alreadyStarted.setState(TransportOrderState.STARTED);
+        alreadyStarted.setTransportUnitBK("4714");
+        repository.save(alreadyStarted);
+        var conflicting = new TransportOrder("4714").setTargetLocation(ERR_LOC_STRING).setTargetLocationGroup(ERR_LOCGB_STRING);
+        conflicting.setState(TransportOrderState.INITIALIZED);
+        var conflictingPKey = repository.save(conflicting).getPersistentKey();
+
+        // test ...
+        var failures = testee.startAll(List.of(valid, blocked, noTarget, conflictingPKey, UNKNOWN));
+
+        // verify ...
+        assertThat(failures).containsOnlyKeys(blocked, noTarget, conflictingPKey, UNKNOWN);
+        assertThat(failures.get(blocked)).contains("blocked");
+        assertThat(stateOf(valid)).isEqualTo(TransportOrderState.STARTED);
+        assertThat(stateOf(blocked)).isEqualTo(TransportOrderState.INITIALIZED);
+        assertThat(stateOf(noTarget)).isEqualTo(TransportOrderState.INITIALIZED);
+        assertThat(stateOf(conflictingPKey)).isEqualTo(TransportOrderState.INITIALIZED);
+        // The targets of orders that failed late are not rewritten
+        var notStarted = repository.findBypKey(conflictingPKey).orElseThrow();
+        assertThat(notStarted.getTargetLocation()).isEqualTo(ERR_LOC_STRING);
+        assertThat(notStarted.getTargetLocationGroup()).isEqualTo(ERR_LOCGB_STRING);
+        assertThat(notStarted.getStartDate()).isNull();
+    }
+
+    @Test
+    void shall_start_one_order_of_hot_TU() throws Exception {
+        // setup ...
+        createTO();
+        var pKeys = new ArrayList<String>();
+        for (var i = 0; i < 20; i++) {
+            var to = new TransportOrder(BC_4711).setTargetLocation(ERR_LOC_STRING).setSourceLocation(INIT_LOC_STRING);
+            to.setState(TransportOrderState.INITIALIZED);
+            pKeys.add(repository.save(to).getPersistentKey());
+        }
+        var threads = 8;
+        var decisions = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(threads);
+
+        // test ...
+        var start = System.nanoTime();
+        var futures = new ArrayList<Future<?>>();
+        for (var i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (var pKey : pKeys) {
+                    try {
+                        testee.start(pKey);
+                    } catch (StateChangeException sce) {
+                        // expected for all but one
+                    }
+                    decisions.incrementAndGet();
+                }
+            }));
+        }
+        for (var future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        var millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        LOGGER.info("[{}] start decisions on one TransportUnit in [{}] ms, [{}] decisions/s", decisions.get(), millis,
+                decisions.get() * 1000L / millis);
+
+        // verify ...
+        assertThat(decisions.get()).isEqualTo(threads * pKeys.size());
+        assertThat(repository.findByTransportUnitBKAndStates(BC_4711, TransportOrderState.STARTED)).hasSize(1);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A TimerWheelTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TimerWheelTest {
+
+    @Test
+    void shall_expire_after_delay_also_beyond_one_round() {
+        // setup ...
+        var testee = new TimerWheel<String>(100, 8, 0);
+        testee.add("short", 250, 0);
+        testee.add("long", 2_000, 0);
+
+        // test & verify ...
+        assertThat(testee.advance(200)).isEmpty();
+        assertThat(testee.advance(300)).containsExactly("short");
+        assertThat(testee.advance(1_900)).isEmpty();
+        assertThat(testee.advance(10_000)).containsExactly("long");
+        assertThat(testee.size()).isZero();
+    }
+
+    @Test
+    void shall_cancel_and_replace_deadlines() {
+        // setup ...
+        var testee = new TimerWheel<String>(100, 8, 0);
+        testee.add("TO1", 500, 0);
+        testee.add("TO2", 500, 100);
+
+        // test ...
+        assertThat(testee.cancel("TO2")).isTrue();
+        assertThat(testee.cancel("TO2")).isFalse();
+        testee.add("TO1", 500, 400);
+
+        // verify ...
+        assertThat(testee.advance(600)).isEmpty();
+        assertThat(testee.size()).isOne();
+        assertThat(testee.advance(900)).containsExactly("TO1");
+        assertThat(testee.size()).isZero();
+    }
+
+    @Test
+    void shall_handle_many_pending_keys() {
+        // setup ...
+        var testee = new TimerWheel<Integer>(10, 512, 0);
+        for (var i = 0; i < 50_000; i++) {
+            testee.add(i, i % 1_000, 0);
+        }
+        for (var i = 0; i < 50_000; i += 2) {
+            testee.cancel(i);
+        }
+
+        // test ...
+        var expired = testee.advance(1_000);
+
+        // verify ...
+        assertThat(expired).hasSize(25_000);
+        assertThat(testee.size()).isZero();
+    }
+}
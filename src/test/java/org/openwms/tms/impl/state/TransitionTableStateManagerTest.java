@@ -0,0 +1,97 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.ameba.i18n.Translator;
+import org.junit.jupiter.api.Test;
+import org.openwms.tms.StateManager;
+import org.openwms.tms.TransportOrder;
+import org.openwms.tms.TransportOrderState;
+import org.openwms.tms.impl.TransportOrderRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A TransitionTableStateManagerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TransitionTableStateManagerTest {
+
+    @SuppressWarnings("unchecked")
+    private final TransportOrderRepository<TransportOrder, Long> repository = mock(TransportOrderRepository.class);
+    private final Translator translator = mock(Translator.class);
+    private final StartClaimGuard startClaimGuard = new StartClaimGuard(translator, repository);
+
+    private String outcome(StateManager stateManager, TransportOrderState current, TransportOrderState next, boolean complete) {
+        var to = new TransportOrder("4711");
+        if (complete) {
+            to.setTargetLocation("EXT_/0000/0000/0000/0000");
+        }
+        to.setState(current);
+        try {
+            stateManager.validate(next, to);
+            return "OK start=" + (to.getStartDate() != null) + " end=" + (to.getEndDate() != null);
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName() + ":" + e.getMessage();
+        }
+    }
+
+    @Test
+    void shall_validate_like_the_hard_coded_rules() {
+        // setup ...
+        given(repository.claimStart(any())).willReturn(1);
+        given(translator.translate(any(), any(Object[].class))).willAnswer(i -> i.getArgument(0));
+        var legacy = new StateManagerImpl(translator, null, startClaimGuard);
+        var testee = new TransitionTableStateManager(translator,
+                List.of(new InitializationGuard(translator), startClaimGuard), null);
+        var targets = new ArrayList<TransportOrderState>(Arrays.asList(TransportOrderState.values()));
+        targets.add(null);
+
+        // test & verify ...
+        for (var complete : new boolean[]{true, false}) {
+            for (var current : TransportOrderState.values()) {
+                for (var next : targets) {
+                    assertThat(outcome(testee, current, next, complete))
+                            .as("Transition from [%s] to [%s]", current, next)
+                            .isEqualTo(outcome(legacy, current, next, complete));
+                }
+            }
+        }
+    }
+
+    @Test
+    void shall_reject_start_if_claim_fails() {
+        // setup ...
+        given(repository.claimStart(any())).willReturn(0);
+        given(translator.translate(any(), any(Object[].class))).willAnswer(i -> i.getArgument(0));
+        var testee = new TransitionTableStateManager(translator,
+                List.of(new InitializationGuard(translator), startClaimGuard), null);
+
+        // test & verify ...
+        assertThat(outcome(testee, TransportOrderState.INITIALIZED, TransportOrderState.STARTED, true))
+                .isEqualTo("StateChangeException:TMS.START_TO_NOT_ALLOWED_ALREADY_STARTED_ONE");
+        verify(repository).flush();
+    }
+}
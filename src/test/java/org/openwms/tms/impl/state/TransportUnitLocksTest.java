@@ -0,0 +1,190 @@
+/*
+ * Copyright 2005-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.tms.impl.state;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.tms.StateChangeException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A TransportUnitLocksTest.
+ *
+ * @author Heiko Scherrer
+ */
+class TransportUnitLocksTest {
+
+    private final TransportUnitLocks testee = new TransportUnitLocks(64, Duration.ofSeconds(10));
+    private int counter;
+
+    private void inTransaction(Runnable runnable) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            runnable.run();
+        } finally {
+            var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    private void inNewTransaction(Runnable runnable) {
+        // Suspend the synchronizations of the enclosing transaction like REQUIRES_NEW does
+        var suspended = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        try {
+            inTransaction(runnable);
+        } finally {
+            TransactionSynchronizationManager.initSynchronization();
+            suspended.forEach(TransactionSynchronizationManager::registerSynchronization);
+        }
+    }
+
+    @Test
+    void shall_serialize_decisions_of_hot_TU() throws Exception {
+        var threads = 8;
+        var iterations = 10_000;
+        var executor = Executors.newFixedThreadPool(threads);
+        var futures = new ArrayList<Future<?>>();
+        for (var i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (var j = 0; j < iterations; j++) {
+                    inTransaction(() -> {
+                        testee.lock("4711");
+                        counter++;
+                    });
+                }
+            }));
+        }
+        for (var future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertThat(counter).isEqualTo(threads * iterations);
+    }
+
+    @Test
+    void shall_not_block_other_TUs() throws Exception {
+        var other = "4712";
+        assertThat(testee.stripeOf(other)).isNotEqualTo(testee.stripeOf("4711"));
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        var holder = executor.submit(() -> inTransaction(() -> {
+            testee.lock("4711");
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        var start = System.nanoTime();
+        inTransaction(() -> testee.lock(other));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    @Test
+    void shall_reject_decision_on_timeout() throws Exception {
+        var testee = new TransportUnitLocks(64, Duration.ofMillis(50));
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        var holder = executor.submit(() -> inTransaction(() -> {
+            testee.lock("4711");
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(testee.stripeOf("4710")).isLessThan(testee.stripeOf("4711"));
+        assertThatThrownBy(() -> inTransaction(() -> testee.lockAll(List.of("4710", "4711"))))
+                .isInstanceOf(StateChangeException.class);
+        var other = Executors.newSingleThreadExecutor();
+        other.submit(() -> inTransaction(() -> testee.lock("4710"))).get(1, TimeUnit.SECONDS);
+        other.shutdown();
+
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    @Test
+    void shall_release_before_after_commit_callbacks() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        var lockedByOther = new ArrayList<Boolean>();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            testee.lock("4711");
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // Work dispatched after commit, like the capacity dispatcher, must find the TU unlocked
+                    try {
+                        executor.submit(() -> inTransaction(() -> testee.lock("4711"))).get(1, TimeUnit.SECONDS);
+                        lockedByOther.add(true);
+                    } catch (Exception e) {
+                        lockedByOther.add(false);
+                    }
+                }
+            });
+        } finally {
+            var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        }
+        executor.shutdown();
+        assertThat(lockedByOther).containsExactly(true);
+    }
+
+    @Test
+    void shall_refuse_locks_out_of_order_while_holding_others() {
+        assertThat(testee.stripeOf("4710")).isLessThan(testee.stripeOf("4711"));
+        assertThat(testee.stripeOf("4712")).isGreaterThan(testee.stripeOf("4711"));
+        inTransaction(() -> {
+            testee.lock("4711");
+            // A nested transaction must not take a lock that precedes one the thread already holds
+            var start = System.nanoTime();
+            assertThatThrownBy(() -> inNewTransaction(() -> testee.lock("4710"))).isInstanceOf(StateChangeException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+            inNewTransaction(() -> testee.lock("4712"));
+            inNewTransaction(() -> testee.lock("4711"));
+        });
+    }
+}
@@ -1,2 +1,5 @@
+DELETE FROM TMS_TO_JOURNAL;
+DELETE FROM TMS_PROBLEM_HISTORY_ARCHIVE;
+DELETE FROM TMS_TRANSPORT_ORDER_ARCHIVE;
 DELETE FROM TMS_PROBLEM_HISTORY;
 DELETE FROM TMS_TRANSPORT_ORDER;
@@ -1 +1 @@
-INSERT INTO tms_transport_order (c_pk, c_created, c_ol, c_pid, c_priority, c_source_location, c_start_date, c_state, c_target_location, c_transport_unit_bk) values (1000, now(), 0, '1000', 'NORMAL', 'EXT_/0000/0000/0000/0000', now(), 'STARTED', 'EXT_/0000/0000/0000/0000', '4712');
\ No newline at end of file
+INSERT INTO tms_transport_order (c_pk, c_created, c_ol, c_pid, c_priority, c_priority_order, c_source_location, c_start_date, c_state, c_target_location, c_transport_unit_bk, c_started_tu_bk) values (1000, now(), 0, '1000', 'NORMAL', 30, 'EXT_/0000/0000/0000/0000', now(), 'STARTED', 'EXT_/0000/0000/0000/0000', '4712', '4712');
\ No newline at end of file